@@ -0,0 +1,327 @@
+package gradestyle;
+
+import gradestyle.util.FileUtils;
+import gradestyle.validator.Type;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.FileBasedConfiguration;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.commons.configuration2.builder.FileBasedConfigurationBuilder;
+import org.apache.commons.configuration2.builder.fluent.Parameters;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+// Generates a cohort of Maven repos from a template, to load test GradeStyle without real repos.
+public class CohortGenerator {
+  private static final String TEMPLATE = "template";
+
+  private static final Set<Type> INJECTABLE =
+      EnumSet.of(
+          Type.Formatting_LineLength,
+          Type.Formatting_MissingBraces,
+          Type.Formatting_IndentationTabs,
+          Type.Formatting_UpperEll,
+          Type.Formatting_MultipleDeclarations,
+          Type.Formatting_ArrayStyle,
+          Type.MethodNames_Regex,
+          Type.VariableNames_Regex,
+          Type.PrivateInstances,
+          Type.Useless_EmptyBlock,
+          Type.Useless_CommentedCode,
+          Type.StringConcatenation,
+          Type.EmptyCatchBlock);
+
+  private Path template;
+
+  private Path repos;
+
+  private String packageString;
+
+  private int count;
+
+  private int files;
+
+  private int methods;
+
+  private double shared;
+
+  private long seed;
+
+  private Map<Type, Double> rates = new EnumMap<>(Type.class);
+
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.err.println("Missing config file argument.");
+      System.exit(1);
+    }
+
+    try {
+      new CohortGenerator(args[0]).generate();
+    } catch (ConfigurationException | IllegalArgumentException e) {
+      System.err.println("Invalid config file: " + args[0]);
+      e.printStackTrace();
+      System.exit(1);
+    } catch (IOException e) {
+      System.err.println("Unable to generate repos.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private CohortGenerator(String filename) throws ConfigurationException {
+    Configuration config =
+        new FileBasedConfigurationBuilder<FileBasedConfiguration>(PropertiesConfiguration.class)
+            .configure(new Parameters().properties().setFileName(filename))
+            .getConfiguration();
+
+    Path parent = Path.of(filename).toAbsolutePath().getParent();
+
+    this.template = parent.resolve(config.getString("template"));
+    this.repos = parent.resolve(config.getString("repos"));
+    this.packageString = config.getString("package");
+    this.count = config.getInt("count", 100);
+    this.files = config.getInt("files", 20);
+    this.methods = config.getInt("methods", 10);
+    this.shared = config.getDouble("shared", 0.2);
+    this.seed = config.getLong("seed", 0);
+
+    Configuration violations = config.subset("violations");
+
+    for (Iterator<String> keys = violations.getKeys(); keys.hasNext(); ) {
+      String key = keys.next();
+      Type type = Type.valueOf(key);
+
+      if (!INJECTABLE.contains(type)) {
+        throw new IllegalArgumentException("Violations of " + type + " cannot be injected.");
+      }
+
+      rates.put(type, violations.getDouble(key));
+    }
+  }
+
+  private void generate() throws IOException {
+    int sharedFiles = (int) Math.round(files * shared);
+
+    copyRepo(template, repos.resolve(TEMPLATE));
+
+    for (int i = 0; i < count; i++) {
+      String name = String.format("student-%04d", i);
+      Path dir = repos.resolve(name);
+      Path src = dir.resolve(FileUtils.MAIN_DIR).resolve(packageString.replace('.', '/'));
+
+      copyRepo(template, dir);
+      writePom(dir, name);
+      Files.createDirectories(src);
+
+      // Shared files only depend on their index, so they are identical in every repo.
+      for (int j = 0; j < files; j++) {
+        boolean identical = j < sharedFiles;
+        String className = (identical ? "Shared" : "Generated") + j;
+        Random random = new Random(identical ? seed * 31 + j : (seed * 31 + i) * 31 + j);
+
+        Files.writeString(src.resolve(className + ".java"), generateClass(className, random));
+      }
+    }
+
+    System.out.println(
+        "Generated " + count + " repos with " + files + " files each in: " + repos + ".");
+  }
+
+  private static void copyRepo(Path from, Path to) throws IOException {
+    if (Files.exists(to)) {
+      org.apache.commons.io.FileUtils.deleteDirectory(to.toFile());
+    }
+
+    try (Stream<Path> paths = Files.walk(from)) {
+      for (Path path : paths.toList()) {
+        Path target = to.resolve(from.relativize(path).toString());
+
+        if (Files.isDirectory(path)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(path, target);
+        }
+      }
+    }
+  }
+
+  private void writePom(Path dir, String name) throws IOException {
+    if (Files.exists(dir.resolve("pom.xml"))) {
+      return;
+    }
+
+    String pom =
+        """
+        <project xmlns="http://maven.apache.org/POM/4.0.0">
+          <modelVersion>4.0.0</modelVersion>
+          <groupId>%s</groupId>
+          <artifactId>%s</artifactId>
+          <version>1.0</version>
+          <properties>
+            <maven.compiler.release>17</maven.compiler.release>
+            <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+          </properties>
+        </project>
+        """
+            .formatted(packageString, name);
+
+    Files.writeString(dir.resolve("pom.xml"), pom);
+  }
+
+  private String generateClass(String className, Random random) {
+    List<String> members = new ArrayList<>();
+    int id = 0;
+
+    for (; id < methods; id++) {
+      members.add(
+          """
+            public int compute%d(int value) {
+              int result = value * %d;
+              return result + %d;
+            }
+          """
+              .formatted(id, random.nextInt(100), random.nextInt(100)));
+    }
+
+    // A rate of 1.5 injects one violation into every file, and a second into half of them.
+    for (Map.Entry<Type, Double> rate : rates.entrySet()) {
+      int injected = (int) Math.floor(rate.getValue());
+
+      if (random.nextDouble() < rate.getValue() - injected) {
+        injected++;
+      }
+
+      for (int k = 0; k < injected; k++, id++) {
+        members.add(random.nextInt(members.size() + 1), inject(rate.getKey(), id));
+      }
+    }
+
+    return "package "
+        + packageString
+        + ";\n\npublic class "
+        + className
+        + " {\n"
+        + String.join("\n", members)
+        + "}\n";
+  }
+
+  private static String inject(Type type, int id) {
+    switch (type) {
+      case Formatting_LineLength:
+        return """
+              public String describe%d() {
+                return "%s";
+              }
+            """
+            .formatted(id, "x".repeat(100));
+      case Formatting_MissingBraces:
+        return """
+              public int limit%d(int value) {
+                if (value > %d) return %d;
+                return value;
+              }
+            """
+            .formatted(id, id, id);
+      case Formatting_IndentationTabs:
+        return """
+              public int tab%d(int value) {
+            \treturn value + %d;
+              }
+            """
+            .formatted(id, id);
+      case Formatting_UpperEll:
+        return """
+              public long total%d() {
+                return %dl;
+              }
+            """
+            .formatted(id, id);
+      case Formatting_MultipleDeclarations:
+        return """
+              public int sum%d() {
+                int first = 1, second = %d;
+                return first + second;
+              }
+            """
+            .formatted(id, id);
+      case Formatting_ArrayStyle:
+        return """
+              public int first%d() {
+                int values[] = {%d};
+                return values[0];
+              }
+            """
+            .formatted(id, id);
+      case MethodNames_Regex:
+        return """
+              public int Get_Value%d() {
+                return %d;
+              }
+            """
+            .formatted(id, id);
+      case VariableNames_Regex:
+        return """
+              public int scale%d(int value) {
+                int Scaled_Value = value * %d;
+                return Scaled_Value;
+              }
+            """
+            .formatted(id, id);
+      case PrivateInstances:
+        return """
+              public int count%d;
+            """
+            .formatted(id);
+      case Useless_EmptyBlock:
+        return """
+              public void check%d(int value) {
+                if (value > %d) {
+                }
+              }
+            """
+            .formatted(id, id);
+      case Useless_CommentedCode:
+        return """
+              public int copy%d(int value) {
+                // int copy = value * %d;
+                return value;
+              }
+            """
+            .formatted(id, id);
+      case StringConcatenation:
+        return """
+              public String join%d(int count) {
+                String text = "";
+                for (int i = 0; i < count; i++) {
+                  text += i;
+                }
+                return text;
+              }
+            """
+            .formatted(id);
+      case EmptyCatchBlock:
+        return """
+              public int parse%d(String text) {
+                try {
+                  return Integer.parseInt(text);
+                } catch (NumberFormatException e) {
+                }
+                return %d;
+              }
+            """
+            .formatted(id, id);
+      default:
+        throw new IllegalArgumentException("Violations of " + type + " cannot be injected.");
+    }
+  }
+}
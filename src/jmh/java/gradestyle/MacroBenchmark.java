@@ -0,0 +1,165 @@
+package gradestyle;
+
+import gradestyle.config.Config;
+import gradestyle.validator.ValidationResult;
+import gradestyle.validator.Violation;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs Style end to end and checks its violations against a golden file.
+public class MacroBenchmark {
+  public static void main(String[] args) {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println("Usage: MacroBenchmark <properties-file> <golden-file> [--update]");
+      System.exit(1);
+    }
+
+    Config config = Config.parse(new String[] {args[0]});
+
+    if (config == null) {
+      System.exit(1);
+    }
+
+    Path golden = Path.of(args[1]);
+    boolean update = args.length == 3 && args[2].equals("--update");
+
+    List<MemoryPoolMXBean> pools =
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+    long start = System.nanoTime();
+    List<ValidationResult> results = Style.run(config);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    long peakHeap = pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+    printTimes(results, elapsed, peakHeap);
+
+    try {
+      if (update) {
+        Files.write(golden, getViolationLines(results));
+        System.out.println("Wrote golden file: " + golden);
+      } else if (!Files.exists(golden)) {
+        // Written on a checkout that is known to be correct, never as a side effect of a run.
+        System.err.println("Golden file not found, write it with --update: " + golden);
+        System.exit(1);
+      } else if (!compare(Files.readAllLines(golden), getViolationLines(results))) {
+        System.exit(1);
+      }
+    } catch (IOException e) {
+      System.err.println("Unable to use golden file: " + golden);
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void printTimes(List<ValidationResult> results, Duration elapsed, long peakHeap) {
+    Map<String, Duration> times = new LinkedHashMap<>();
+
+    for (ValidationResult result : results) {
+      result.getTimes().forEach((validator, time) -> times.merge(validator, time, Duration::plus));
+    }
+
+    double minutes = elapsed.toMillis() / 60000.0;
+
+    System.out.println(
+        "Validated "
+            + results.size()
+            + " repos in "
+            + elapsed.toMillis() / 1000.0
+            + "s, "
+            + String.format("%.1f", results.size() / minutes)
+            + " repos/min.");
+
+    times.forEach(
+        (validator, time) -> System.out.println(validator + ": " + time.toMillis() / 1000.0 + "s"));
+
+    System.out.println("Peak heap: " + peakHeap / (1024 * 1024) + " MiB.");
+  }
+
+  // One line per violation, in a stable order, so optimisations can be shown not to change them.
+  private static List<String> getViolationLines(List<ValidationResult> results) {
+    List<String> lines = new ArrayList<>();
+
+    for (ValidationResult result : results) {
+      Repo repo = result.getRepo();
+      Path dir = repo.getDir().toAbsolutePath();
+
+      if (result.getError() != null) {
+        Path relative = dir.relativize(result.getError().toAbsolutePath());
+
+        lines.add(repo.getName() + "\terror\t" + relative.toString().replace('\\', '/'));
+        continue;
+      }
+
+      for (Violation violation : result.getViolations().getViolations()) {
+        Path relative = dir.relativize(violation.getPath().toAbsolutePath());
+
+        lines.add(
+            repo.getName()
+                + "\t"
+                + relative.toString().replace('\\', '/')
+                + "\t"
+                + violation.getLine()
+                + "\t"
+                + violation.getEndLine()
+                + "\t"
+                + violation.getType());
+      }
+    }
+
+    lines.sort(null);
+
+    return lines;
+  }
+
+  private static boolean compare(List<String> expected, List<String> actual) {
+    Map<String, Integer> counts = new HashMap<>();
+
+    expected.forEach(line -> counts.merge(line, 1, Integer::sum));
+    actual.forEach(line -> counts.merge(line, -1, Integer::sum));
+
+    List<String> missing = new ArrayList<>();
+    List<String> extra = new ArrayList<>();
+
+    counts.forEach(
+        (line, count) -> {
+          for (int i = 0; i < Math.abs(count); i++) {
+            (count > 0 ? missing : extra).add(line);
+          }
+        });
+
+    missing.sort(null);
+    extra.sort(null);
+
+    if (missing.isEmpty() && extra.isEmpty()) {
+      System.out.println("Violations match the golden file.");
+      return true;
+    }
+
+    System.err.println(
+        "Violations differ from the golden file, "
+            + missing.size()
+            + " missing and "
+            + extra.size()
+            + " extra.");
+
+    missing.stream().limit(10).forEach(line -> System.err.println("- " + line));
+    extra.stream().limit(10).forEach(line -> System.err.println("+ " + line));
+
+    return false;
+  }
+}
@@ -0,0 +1,57 @@
+package gradestyle;
+
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import gradestyle.config.Config;
+import gradestyle.util.FileUtils;
+import gradestyle.util.JavaParser;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class Samples {
+  public static Path getDir() {
+    return Path.of(System.getProperty("gradestyle.samples", "src/jmh/samples")).toAbsolutePath();
+  }
+
+  public static Config getConfig() {
+    Path properties = getDir().resolve("benchmark.properties");
+    Config config = Config.parse(new String[] {properties.toString()});
+
+    if (config == null) {
+      throw new IllegalStateException("Unable to read the benchmark config.");
+    }
+
+    return config;
+  }
+
+  public static Repo getRepo() {
+    return new Repo(getDir().resolve("repos/student"), "example", "student", null);
+  }
+
+  public static List<Path> getFiles(Repo repo) throws IOException {
+    try (Stream<Path> files = FileUtils.getJavaSrcFiles(repo.getDir())) {
+      return files.sorted().toList();
+    }
+  }
+
+  public static Map<Path, CompilationUnit> parse(Repo repo) throws IOException {
+    com.github.javaparser.JavaParser parser = JavaParser.get(repo);
+    Map<Path, CompilationUnit> units = new LinkedHashMap<>();
+
+    for (Path file : getFiles(repo)) {
+      ParseResult<CompilationUnit> result = parser.parse(file);
+
+      if (!result.isSuccessful()) {
+        throw new IOException("Unable to parse: " + file);
+      }
+
+      units.put(file, result.getResult().get());
+    }
+
+    return units;
+  }
+}
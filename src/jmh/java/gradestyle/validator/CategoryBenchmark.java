@@ -0,0 +1,53 @@
+package gradestyle.validator;
+
+import com.github.javaparser.ast.CompilationUnit;
+import gradestyle.Samples;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class CategoryBenchmark {
+  @Param({
+    "Formatting",
+    "ClassNames",
+    "MethodNames",
+    "VariableNames",
+    "PrivateInstances",
+    "Ordering",
+    "Javadoc",
+    "StringConcatenation",
+    "UnqualifiedStaticAccess",
+    "EmptyCatchBlock"
+  })
+  public Category category;
+
+  private Collection<CompilationUnit> units;
+
+  @Setup
+  public void setup() throws Exception {
+    units = Samples.parse(Samples.getRepo()).values();
+  }
+
+  @Benchmark
+  public long getNormalisation() {
+    long total = 0;
+
+    for (CompilationUnit cu : units) {
+      total += category.getNormalisation(cu);
+    }
+
+    return total;
+  }
+}
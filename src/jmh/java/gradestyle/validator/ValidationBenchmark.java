@@ -0,0 +1,52 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import gradestyle.Samples;
+import gradestyle.validator.checkstyle.Checkstyle;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ValidationBenchmark {
+  private Validation validation;
+
+  private Repo repo;
+
+  private List<Violation> violations;
+
+  private Map<String, List<String>> templateRepoLines;
+
+  @Setup
+  public void setup() throws Exception {
+    validation = new Validation(new Validator[0], Samples.getConfig());
+    repo = Samples.getRepo();
+    violations = new Checkstyle().validate(repo).getViolations();
+    templateRepoLines = validation.readTemplateRepoLines();
+  }
+
+  // Every violation is looked up in the template, which reads the violating line again.
+  @Benchmark
+  public int notInTemplate() throws Exception {
+    int count = 0;
+
+    for (Violation violation : violations) {
+      if (validation.notInTemplate(violation, repo, templateRepoLines)) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+}
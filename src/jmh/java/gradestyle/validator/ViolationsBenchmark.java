@@ -0,0 +1,53 @@
+package gradestyle.validator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ViolationsBenchmark {
+  @Param({"100", "10000"})
+  public int size;
+
+  private Violations violations;
+
+  @Setup
+  public void setup() {
+    Type[] types = Type.values();
+    Random random = new Random(0);
+    List<Violation> list = new ArrayList<>();
+
+    for (int i = 0; i < size; i++) {
+      Path file = Path.of("src/main/java/com/example/File" + random.nextInt(20) + ".java");
+      list.add(new Violation(types[random.nextInt(types.length)], file, random.nextInt(500) + 1));
+    }
+
+    violations = new Violations(list);
+  }
+
+  // Every type is filtered once per repo, e.g. for the CSV report.
+  @Benchmark
+  public int filterByType() {
+    int total = 0;
+
+    for (Type type : Type.values()) {
+      total += violations.filterByType(type).getViolations().size();
+    }
+
+    return total;
+  }
+}
@@ -0,0 +1,101 @@
+package gradestyle.validator.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader.IgnoredModulesOptions;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import gradestyle.Samples;
+import gradestyle.validator.Violations;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xml.sax.InputSource;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ListenerBenchmark {
+  private List<AuditEvent> events = new ArrayList<>();
+
+  // The events of a real Checkstyle run, replayed without running the checks again.
+  @Setup
+  public void setup() throws Exception {
+    Configuration configuration;
+
+    try (InputStream stream = Checkstyle.class.getResourceAsStream("checkstyle.xml")) {
+      configuration =
+          ConfigurationLoader.loadConfiguration(
+              new InputSource(stream),
+              new PropertiesExpander(System.getProperties()),
+              IgnoredModulesOptions.EXECUTE);
+    }
+
+    Checker checker = new Checker();
+
+    checker.setModuleClassLoader(Checker.class.getClassLoader());
+    checker.configure(configuration);
+    checker.addListener(new Recorder(events));
+    checker.process(Samples.getFiles(Samples.getRepo()).stream().map(Path::toFile).toList());
+    checker.destroy();
+  }
+
+  @Benchmark
+  public Violations addError() {
+    Violations violations = new Violations();
+    Listener listener = new Listener(violations);
+
+    for (AuditEvent event : events) {
+      if (event.getViolation() == null) {
+        listener.fileStarted(event);
+      } else {
+        listener.addError(event);
+      }
+    }
+
+    return violations;
+  }
+
+  private static class Recorder implements AuditListener {
+    private List<AuditEvent> events;
+
+    Recorder(List<AuditEvent> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+      events.add(event);
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+      events.add(event);
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {}
+
+    @Override
+    public void auditFinished(AuditEvent event) {}
+
+    @Override
+    public void fileFinished(AuditEvent event) {}
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {}
+  }
+}
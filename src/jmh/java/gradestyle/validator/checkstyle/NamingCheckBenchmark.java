@@ -0,0 +1,59 @@
+package gradestyle.validator.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.JavaParser;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.api.TokenTypes;
+import gradestyle.Samples;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class NamingCheckBenchmark {
+  private NamingCheck check;
+
+  private List<DetailAST> tokens = new ArrayList<>();
+
+  @Setup
+  public void setup() throws Exception {
+    check = new NamingCheck();
+
+    for (Path file : Samples.getFiles(Samples.getRepo())) {
+      collect(JavaParser.parseFile(file.toFile(), JavaParser.Options.WITHOUT_COMMENTS), tokens);
+    }
+  }
+
+  // Every class and method name is looked up in WordNet.
+  @Benchmark
+  public int visitToken() {
+    check.clearViolations();
+
+    for (DetailAST token : tokens) {
+      check.visitToken(token);
+    }
+
+    return check.getViolations().size();
+  }
+
+  private static void collect(DetailAST ast, List<DetailAST> tokens) {
+    for (DetailAST node = ast; node != null; node = node.getNextSibling()) {
+      if (node.getType() == TokenTypes.CLASS_DEF || node.getType() == TokenTypes.METHOD_DEF) {
+        tokens.add(node);
+      }
+
+      collect(node.getFirstChild(), tokens);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package gradestyle.validator.javaparser;
+
+import com.github.javaparser.ast.CompilationUnit;
+import gradestyle.Repo;
+import gradestyle.Samples;
+import gradestyle.validator.Violations;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class JavaParserBenchmark {
+  private JavaParser validator;
+
+  private com.github.javaparser.JavaParser parser;
+
+  private Map<Path, CompilationUnit> units;
+
+  private Map<Path, CompilationUnit> copies;
+
+  @Setup
+  public void setup() throws Exception {
+    Repo repo = Samples.getRepo();
+
+    validator = new JavaParser();
+    validator.setup(Samples.getConfig());
+    parser = gradestyle.util.JavaParser.get(repo);
+    units = Samples.parse(repo);
+  }
+
+  // Checking comments removes them from the tree, so every invocation gets a fresh copy.
+  @Setup(Level.Invocation)
+  public void copy() {
+    copies = new LinkedHashMap<>();
+    units.forEach((file, cu) -> copies.put(file, cu.clone()));
+  }
+
+  @Benchmark
+  public Violations commentMeaningViolations() {
+    Violations violations = new Violations();
+
+    copies.forEach((file, cu) -> validator.commentMeaningViolations(file).visit(cu, violations));
+
+    return violations;
+  }
+
+  // Every comment is parsed again, to find commented out code.
+  @Benchmark
+  public Violations commentViolations() {
+    Violations violations = new Violations();
+
+    copies.forEach((file, cu) -> validator.commentViolations(parser, file, cu, violations));
+
+    return violations;
+  }
+}
@@ -0,0 +1,59 @@
+package com.example;
+
+import java.util.Objects;
+
+/** A book that can be borrowed from the library. */
+public class Book {
+  private final String isbn;
+
+  private final String title;
+
+  private final String author;
+
+  private boolean borrowed;
+
+  public Book(String isbn, String title, String author) {
+    this.isbn = isbn;
+    this.title = title;
+    this.author = author;
+  }
+
+  public String getIsbn() {
+    return isbn;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getAuthor() {
+    return author;
+  }
+
+  public boolean isBorrowed() {
+    return borrowed;
+  }
+
+  public void setBorrowed(boolean borrowed) {
+    this.borrowed = borrowed;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof Book)) {
+      return false;
+    }
+
+    return isbn.equals(((Book) other).isbn);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(isbn);
+  }
+
+  @Override
+  public String toString() {
+    return title + " by " + author;
+  }
+}
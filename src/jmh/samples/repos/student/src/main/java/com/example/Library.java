@@ -0,0 +1,99 @@
+package com.example;
+
+import java.util.*;
+
+/** The books and members of a library. */
+public class Library {
+  public List<Book> books = new ArrayList<>();
+
+  private final List<Member> members = new ArrayList<>();
+  static int MAX_LOANS = 3;
+
+  public void addBook(Book book) {
+    // check if the book is already in the library
+    for (Book b : books) {
+      if (b.equals(book)) return;
+    }
+
+    // add book
+    books.add(book);
+  }
+
+  public void addMember(Member member) {
+    members.add(member);
+  }
+
+  public Book findBook(String isbn) {
+    // TODO: Find the book with the given ISBN.
+    for (int i = 0; i < books.size(); i++) {
+      if (books.get(i).getIsbn().equals(isbn)) {
+        return books.get(i);
+      }
+    }
+    // return books.get(0);
+    return null;
+  }
+
+  public boolean Borrow(Member member, String isbn) {
+    Book book = findBook(isbn);
+    if (book == null || book.isBorrowed()) {
+      return false;
+    }
+
+    if (member.loans().size() >= MAX_LOANS) {
+      return false;
+    }
+
+    book.setBorrowed(true);
+    member.loans().add(book);
+    return true;
+  }
+
+  public void giveBack(Member member, String isbn) {
+    try {
+      Book book = findBook(isbn);
+      book.setBorrowed(false);
+      member.loans().remove(book);
+    } catch (NullPointerException e) {
+    }
+  }
+
+  public String report() {
+    String report = "";
+
+    /*
+    for (Member member : members) {
+      System.out.println(member.getName());
+    }
+    */
+
+    for (Member m : members) {
+      report += m.getName() + ": ";
+      for (Book book : m.loans()) {
+        report += book + ", ";
+      }
+      report += "\n";
+    }
+
+    return report;
+  }
+
+  public int countAvailable() {
+    int count = 0;
+    int x = 0;
+    while (x < books.size()) {
+      // increment count
+      if (!books.get(x).isBorrowed()) count++;
+      x++;
+    }
+    return count;
+  }
+
+  public List<Book> getBooks() {
+    return books;
+  }
+
+  public List<Member> getMembers() {
+    return members;
+  }
+}
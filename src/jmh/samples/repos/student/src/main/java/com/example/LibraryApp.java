@@ -0,0 +1,47 @@
+package com.example;
+
+import java.util.Scanner;
+
+public class LibraryApp {
+  static Library library = new Library();
+
+  public static void main(String[] args) {
+    Scanner scanner = new Scanner(System.in);
+    Member member = new Member(args.length > 0 ? args[0] : "guest");
+    library.addMember(member);
+
+    library.addBook(new Book("978-0134685991", "Effective Java", "Joshua Bloch"));
+    library.addBook(new Book("978-0596009205", "Head First Java", "Kathy Sierra"));
+    library.addBook(new Book("978-0132350884", "Clean Code", "Robert Martin"));
+
+    while (scanner.hasNextLine()) {
+      String line = scanner.nextLine().trim();
+      // quit
+      if (line.equals("quit")) {
+        break;
+      }
+
+      String[] parts = line.split(" ");
+      switch (parts[0]) {
+        case "borrow":
+          System.out.println(library.Borrow(member, parts[1]) ? "ok" : "unavailable");
+          break;
+        case "return":
+          library.giveBack(member, parts[1]);
+          break;
+        case "report":
+          System.out.print(library.report());
+          break;
+        default:
+          System.out.println("Available: " + library.countAvailable());
+      }
+    }
+
+    // scanner.close();
+  }
+
+  private static void Helper() {
+    int Temp = Math.max(1, 2);
+    System.out.println(Temp);
+  }
+}
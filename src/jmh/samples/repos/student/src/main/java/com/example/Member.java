@@ -0,0 +1,23 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A member of the library. */
+public class Member {
+  private final String name;
+  List<Book> Loans = new ArrayList<>();
+
+  public Member(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  // get the loans
+  public List<Book> loans() {
+    return Loans;
+  }
+}
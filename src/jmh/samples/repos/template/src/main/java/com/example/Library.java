@@ -0,0 +1,32 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** The books and members of a library. */
+public class Library {
+  private final List<Book> books = new ArrayList<>();
+
+  private final List<Member> members = new ArrayList<>();
+
+  public void addBook(Book book) {
+    // TODO: Reject books that are already in the library.
+  }
+
+  public void addMember(Member member) {
+    members.add(member);
+  }
+
+  public Book findBook(String isbn) {
+    // TODO: Find the book with the given ISBN.
+    return null;
+  }
+
+  public List<Book> getBooks() {
+    return books;
+  }
+
+  public List<Member> getMembers() {
+    return members;
+  }
+}
@@ -0,0 +1,14 @@
+package com.example;
+
+/** A member of the library. */
+public class Member {
+  private final String name;
+
+  public Member(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+}
@@ -0,0 +1,316 @@
+package gradestyle;
+
+import gradestyle.config.Config;
+import gradestyle.metrics.BuildEvent;
+import gradestyle.metrics.Metrics;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BuildExecutor {
+  public record Result(boolean success, int exitCode, boolean timedOut, List<String> output) {}
+
+  private static final int OUTPUT_LINES = 50;
+
+  private static final boolean WINDOWS =
+      System.getProperty("os.name").toLowerCase().contains("win");
+
+  private static BuildExecutor instance =
+      new BuildExecutor(
+          Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 300, null, false);
+
+  public static synchronized void setup(Config config) {
+    instance =
+        new BuildExecutor(
+            config.getBuildThreads(),
+            config.getBuildTimeout(),
+            config.getBuildMavenRepo(),
+            config.getBuildOffline());
+  }
+
+  public static synchronized BuildExecutor get() {
+    return instance;
+  }
+
+  // Builds are limited separately from analysis, as each one starts its own JVMs.
+  private Semaphore permits;
+
+  private long timeout;
+
+  private Path mavenRepo;
+
+  private boolean offline;
+
+  private AtomicInteger queued = new AtomicInteger();
+
+  private AtomicInteger running = new AtomicInteger();
+
+  private AtomicInteger succeeded = new AtomicInteger();
+
+  private AtomicInteger failed = new AtomicInteger();
+
+  private AtomicInteger timedOut = new AtomicInteger();
+
+  private AtomicLong queueNanos = new AtomicLong();
+
+  private AtomicLong runNanos = new AtomicLong();
+
+  private BuildExecutor(int threads, long timeout, Path mavenRepo, boolean offline) {
+    this.permits = new Semaphore(threads, true);
+    this.timeout = timeout;
+    this.mavenRepo = mavenRepo;
+    this.offline = offline;
+  }
+
+  public boolean build(Repo repo) {
+    List<String> command = getCommand(repo.getBuildTool());
+
+    if (command == null) {
+      return false;
+    }
+
+    Result result;
+    BuildEvent event = new BuildEvent();
+    event.begin();
+
+    try (Metrics.Span span = Metrics.get().span(repo.getName(), "", "compile")) {
+      result = run(repo.getDir(), command);
+    }
+
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.repo = repo.getName();
+      event.command = String.join(" ", command);
+      event.exitCode = result.exitCode();
+      event.timedOut = result.timedOut();
+      event.commit();
+    }
+
+    if (!result.success()) {
+      String reason =
+          result.timedOut()
+              ? "timed out after " + timeout + "s"
+              : "failed with exit code " + result.exitCode();
+
+      System.err.println("Building \"" + repo.getName() + "\" " + reason + ":");
+      result.output().forEach(System.err::println);
+    }
+
+    return result.success();
+  }
+
+  public Result run(Path dir, List<String> command) {
+    long queuedAt = System.nanoTime();
+    queued.incrementAndGet();
+
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Result(false, -1, false, List.of());
+    } finally {
+      queued.decrementAndGet();
+    }
+
+    long startedAt = System.nanoTime();
+    queueNanos.addAndGet(startedAt - queuedAt);
+    running.incrementAndGet();
+
+    try {
+      Result result = execute(dir, command);
+
+      if (result.success()) {
+        succeeded.incrementAndGet();
+      } else if (result.timedOut()) {
+        timedOut.incrementAndGet();
+      } else {
+        failed.incrementAndGet();
+      }
+
+      return result;
+    } finally {
+      running.decrementAndGet();
+      runNanos.addAndGet(System.nanoTime() - startedAt);
+      permits.release();
+    }
+  }
+
+  public int getQueued() {
+    return queued.get();
+  }
+
+  public int getRunning() {
+    return running.get();
+  }
+
+  public int getSucceeded() {
+    return succeeded.get();
+  }
+
+  public int getFailed() {
+    return failed.get();
+  }
+
+  public int getTimedOut() {
+    return timedOut.get();
+  }
+
+  public Duration getQueueTime() {
+    return Duration.ofNanos(queueNanos.get());
+  }
+
+  public Duration getRunTime() {
+    return Duration.ofNanos(runNanos.get());
+  }
+
+  public void printStatistics() {
+    int builds = getSucceeded() + getFailed() + getTimedOut();
+
+    if (builds == 0) {
+      return;
+    }
+
+    System.out.println(
+        "Builds: "
+            + builds
+            + " run, "
+            + getFailed()
+            + " failed, "
+            + getTimedOut()
+            + " timed out, "
+            + getRunTime().toSeconds()
+            + "s building and "
+            + getQueueTime().toSeconds()
+            + "s waiting.");
+  }
+
+  private List<String> getCommand(Repo.BuildTool buildTool) {
+    List<String> command = new ArrayList<>();
+
+    switch (buildTool) {
+      case MAVEN_WRAPPER:
+        command.addAll(WINDOWS ? List.of("cmd.exe", "/c", "mvnw.cmd") : List.of("./mvnw"));
+        addMavenArgs(command);
+        break;
+      case MAVEN:
+        command.addAll(WINDOWS ? List.of("cmd.exe", "/c", "mvn") : List.of("mvn"));
+        addMavenArgs(command);
+        break;
+      case GRADLE_WRAPPER:
+        command.addAll(WINDOWS ? List.of("cmd.exe", "/c", "gradlew.bat") : List.of("./gradlew"));
+        addGradleArgs(command);
+        break;
+      case GRADLE:
+        command.addAll(WINDOWS ? List.of("cmd.exe", "/c", "gradle") : List.of("gradle"));
+        addGradleArgs(command);
+        break;
+      default:
+        return null;
+    }
+
+    return command;
+  }
+
+  private void addMavenArgs(List<String> command) {
+    command.add("--batch-mode");
+
+    if (mavenRepo != null) {
+      command.add("-Dmaven.repo.local=" + mavenRepo.toAbsolutePath());
+    }
+
+    if (offline) {
+      command.add("--offline");
+    }
+
+    command.add("compile");
+  }
+
+  private void addGradleArgs(List<String> command) {
+    command.add("--console=plain");
+
+    if (offline) {
+      command.add("--offline");
+    }
+
+    command.add("classes");
+  }
+
+  private Result execute(Path dir, List<String> command) {
+    Process process;
+
+    try {
+      process =
+          new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+    } catch (IOException e) {
+      return new Result(false, -1, false, List.of(e.toString()));
+    }
+
+    Deque<String> tail = new ArrayDeque<>();
+    Thread reader = new Thread(() -> readTail(process.getInputStream(), tail));
+    reader.setDaemon(true);
+    reader.start();
+
+    try {
+      boolean finished = process.waitFor(timeout, TimeUnit.SECONDS);
+
+      if (!finished) {
+        kill(process);
+        process.waitFor();
+      }
+
+      reader.join(TimeUnit.SECONDS.toMillis(1));
+
+      List<String> output;
+
+      synchronized (tail) {
+        output = List.copyOf(tail);
+      }
+
+      int exitCode = finished ? process.exitValue() : -1;
+
+      return new Result(finished && exitCode == 0, exitCode, !finished, output);
+    } catch (InterruptedException e) {
+      kill(process);
+      Thread.currentThread().interrupt();
+      return new Result(false, -1, false, List.of());
+    }
+  }
+
+  // Maven and Gradle start JVMs of their own, which would keep running after the build tool.
+  private static void kill(Process process) {
+    process.descendants().forEach(ProcessHandle::destroyForcibly);
+    process.destroyForcibly();
+  }
+
+  private static void readTail(InputStream stream, Deque<String> tail) {
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+
+      while ((line = reader.readLine()) != null) {
+        synchronized (tail) {
+          tail.addLast(line);
+
+          if (tail.size() > OUTPUT_LINES) {
+            tail.removeFirst();
+          }
+        }
+      }
+    } catch (IOException e) {
+      // The stream is closed when the process is killed.
+    }
+  }
+}
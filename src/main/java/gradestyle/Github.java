@@ -1,27 +1,55 @@
 package gradestyle;
 
-import gradestyle.config.CategoryConfig;
+import com.fasterxml.jackson.databind.JsonNode;
 import gradestyle.config.Config;
-import gradestyle.validator.ValidationMarkdown;
+import gradestyle.github.FeedbackPublisher;
+import gradestyle.github.GithubClient;
+import gradestyle.metrics.Metrics;
 import gradestyle.validator.ValidationResult;
-import gradestyle.validator.Violation;
-import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.api.errors.JGitInternalException;
+import org.eclipse.jgit.errors.CorruptObjectException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.RefSpec;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
-import org.kohsuke.github.GHOrganization;
-import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHubBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
 
 public class Github {
+  private static final String REFERENCE = ".reference.git";
+
+  private static final int PAGE_SIZE = 100;
+
   private Config config;
 
+  private String templateUrl;
+
+  private Path reference;
+
+  private GithubClient client;
+
   public Github(Config config) {
     this.config = config;
   }
@@ -30,120 +58,378 @@ public class Github {
     return config;
   }
 
-  public List<Repo> cloneAssignment() throws IOException, GitAPIException {
-    GHOrganization github = getGithub();
+  public List<Repo> cloneAssignment() throws IOException {
+    List<Callable<Repo>> tasks =
+        config.getGithubRemote() == null ? getGithubTasks() : getLocalTasks();
+
+    if (config.getGithubShareObjects() && templateUrl != null) {
+      reference = syncReference(templateUrl);
+    } else if (config.getGithubShareObjects()) {
+      System.err.println(
+          "The template repo "
+              + config.getTemplateRepo().getFileName()
+              + " was not found, objects will not be shared.");
+    }
 
+    ExecutorService executor = Executors.newFixedThreadPool(config.getGithubThreads());
     List<Repo> repos = new ArrayList<>();
 
-    for (GHRepository ghRepo : github.listRepositories()) {
-      if (!ghRepo.getName().startsWith(config.getGithubAssignment())) {
+    try {
+      for (Future<Repo> future : executor.invokeAll(tasks)) {
+        Repo repo = future.get();
+
+        if (repo != null) {
+          repos.add(repo);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (reference != null) {
+      printObjectSavings(repos);
+    }
+
+    if (client != null) {
+      System.out.println(
+          client.getCacheHits()
+              + " of "
+              + client.getRequests()
+              + " GitHub requests were answered from the cache.");
+    }
+
+    return repos;
+  }
+
+  private synchronized GithubClient getClient() {
+    if (client == null) {
+      client =
+          new GithubClient(
+              config.getGithubApi(),
+              config.getGithubToken(),
+              config.getGithubRetries(),
+              config.getGithubCache());
+    }
+
+    return client;
+  }
+
+  private List<JsonNode> listRepositories() throws IOException {
+    List<JsonNode> repos = new ArrayList<>();
+    String path = "/orgs/" + config.getGithubClassroom() + "/repos?per_page=" + PAGE_SIZE;
+
+    // Unchanged pages are answered from the cache, and do not count against the rate limit.
+    for (int page = 1; ; page++) {
+      JsonNode body = getClient().get(path + "&page=" + page).body();
+
+      body.forEach(repos::add);
+
+      if (body.size() < PAGE_SIZE) {
+        return repos;
+      }
+    }
+  }
+
+  private List<Callable<Repo>> getGithubTasks() throws IOException {
+    List<Callable<Repo>> tasks = new ArrayList<>();
+    String templateName = config.getTemplateRepo().getFileName().toString();
+
+    for (JsonNode ghRepo : listRepositories()) {
+      String name = ghRepo.path("name").asText();
+
+      if (!name.startsWith(config.getGithubAssignment()) && !name.equals(templateName)) {
         continue;
       }
 
-      Path clonePath = config.getRepos().resolve(ghRepo.getName());
-      File cloneDir = clonePath.toFile();
+      String url = ghRepo.path("clone_url").asText();
+      String branch = ghRepo.path("default_branch").asText();
 
-      String hash = ghRepo.listCommits().toArray()[0].getSHA1();
-      Repo repo = new Repo(clonePath, config.getGithubClassroom(), ghRepo.getName(), hash);
+      // As with a local remote the template is found by name, it may not be flagged on GitHub.
+      boolean template = name.equals(templateName) || ghRepo.path("is_template").asBoolean();
 
-      if (!ghRepo.isTemplate()) {
-        repos.add(repo);
+      if (name.equals(templateName) || (template && templateUrl == null)) {
+        templateUrl = url;
       }
 
-      getRepo(repo.getRepoUrl(), cloneDir);
+      tasks.add(
+          () -> {
+            String path =
+                "/repos/" + config.getGithubClassroom() + "/" + name + "/git/ref/heads/" + branch;
+            String commit;
+
+            try {
+              // The branch ref is a single request, listing commits pages through the history.
+              commit = getClient().get(path).body().path("object").path("sha").asText();
+            } catch (IOException | RuntimeException e) {
+              System.err.println("Unable to get the head of: " + name);
+              e.printStackTrace();
+              return null;
+            }
+
+            return syncRepo(name, url, branch, commit, template);
+          });
+    }
+
+    return tasks;
+  }
+
+  // Bare repos in a local directory stand in for the GitHub organisation, e.g. for testing.
+  private List<Callable<Repo>> getLocalTasks() throws IOException {
+    List<Callable<Repo>> tasks = new ArrayList<>();
+    String template = config.getTemplateRepo().getFileName().toString();
+
+    try (Stream<Path> dirs = Files.list(config.getGithubRemote())) {
+      for (Path dir : dirs.sorted().toList()) {
+        String name = dir.getFileName().toString().replaceFirst("\\.git$", "");
+
+        if (!Files.isDirectory(dir)
+            || (!name.startsWith(config.getGithubAssignment()) && !name.equals(template))) {
+          continue;
+        }
+
+        if (name.equals(template)) {
+          templateUrl = dir.toUri().toString();
+        }
+
+        tasks.add(
+            () -> {
+              String branch = null;
+              ObjectId head = null;
+
+              try (Repository repository =
+                  new FileRepositoryBuilder().setGitDir(dir.toFile()).setMustExist(true).build()) {
+                branch = repository.getBranch();
+                head = repository.resolve(Constants.HEAD);
+              } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+              }
+
+              if (head == null) {
+                System.err.println("Unable to get the head of: " + name);
+                return null;
+              }
 
-      Git.open(cloneDir).checkout().setName(hash).call();
+              String url = dir.toUri().toString();
+
+              return syncRepo(name, url, branch, head.getName(), name.equals(template));
+            });
+      }
     }
 
-    return repos;
+    return tasks;
   }
 
-  private GHOrganization getGithub() throws IOException {
-    GitHubBuilder builder = new GitHubBuilder();
+  // Syncs a single repo to the given commit, e.g. after it was pushed to.
+  public Repo updateRepo(String name, String url, String branch, String commit)
+      throws InterruptedException {
+    Path shared = config.getRepos().resolve(REFERENCE);
 
-    if (config.getGithubToken() != null) {
-      builder = builder.withOAuthToken(config.getGithubToken());
+    if (config.getGithubShareObjects() && reference == null && Files.isDirectory(shared)) {
+      reference = shared;
     }
 
-    return builder.build().getOrganization(config.getGithubClassroom());
+    return syncRepo(name, url, branch, commit, false);
   }
 
-  private void getRepo(String url, File dir) throws IOException, GitAPIException {
-    CredentialsProvider creds =
-        new UsernamePasswordCredentialsProvider(config.getGithubToken(), "");
+  private Repo syncRepo(String name, String url, String branch, String commit, boolean template)
+      throws InterruptedException {
+    Path dir = config.getRepos().resolve(name);
+
+    for (int attempt = 0; ; attempt++) {
+      try (Metrics.Span span = Metrics.get().span(name, "", "clone")) {
+        commit = fetchRepo(url, dir, branch, commit);
+        break;
+      } catch (IOException | GitAPIException | JGitInternalException e) {
+        // Only a broken local copy starts again from an empty directory, a failed fetch, e.g. when
+        // offline, keeps what was fetched before.
+        if (isBroken(dir, e)) {
+          try {
+            FileUtils.deleteDirectory(dir.toFile());
+          } catch (IOException deleteException) {
+            deleteException.printStackTrace();
+          }
+        }
 
-    if (dir.exists()) {
-      try {
-        Git.open(dir).pull().setCredentialsProvider(creds).call();
-        return;
-      } catch (GitAPIException e) {
-        FileUtils.deleteDirectory(dir);
+        if (attempt == config.getGithubRetries()) {
+          System.err.println("Unable to fetch: " + name);
+          e.printStackTrace();
+          return null;
+        }
+
+        Thread.sleep(1000L << attempt);
+      } catch (RuntimeException e) {
+        // Not worth retrying, but only this repo is left out instead of the whole cohort.
+        System.err.println("Unable to fetch: " + name);
+        e.printStackTrace();
+        return null;
       }
     }
 
-    Git.cloneRepository().setURI(url).setDirectory(dir).setCredentialsProvider(creds).call();
+    // The template is still fetched, so violations can be compared against it.
+    if (template) {
+      return null;
+    }
+
+    return new Repo(dir, config.getGithubClassroom(), name, commit);
   }
 
-  public void sendFeedback(List<ValidationResult> results) throws IOException {
-    GHOrganization github = getGithub();
+  private boolean isBroken(Path dir, Exception e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MissingObjectException || cause instanceof CorruptObjectException) {
+        return true;
+      }
+    }
 
-    for (ValidationResult result : results) {
-      if (result.getViolations().getViolations().isEmpty()) {
-        continue;
+    if (!Files.isDirectory(dir.resolve(Constants.DOT_GIT))) {
+      return false;
+    }
+
+    try (Git git = Git.open(dir.toFile())) {
+      git.getRepository().resolve(Constants.HEAD);
+      return false;
+    } catch (IOException | RuntimeException openException) {
+      return true;
+    }
+  }
+
+  private String fetchRepo(String url, Path dir, String branch, String commit)
+      throws IOException, GitAPIException {
+    try (Git git = openRepo(dir)) {
+      ObjectId head = git.getRepository().resolve(Constants.HEAD);
+
+      if (head != null
+          && head.getName().equals(commit)
+          && !git.status().call().hasUncommittedChanges()) {
+        return commit;
       }
 
-      StringBuilder sb = new StringBuilder();
+      String ref = Constants.R_REMOTES + Constants.DEFAULT_REMOTE_NAME + "/" + branch;
+
+      fetch(git, url)
+          .setRefSpecs(new RefSpec("+" + Constants.R_HEADS + branch + ":" + ref))
+          .setDepth(1)
+          .call();
 
-      Markdown.message(sb, config.getStyleFeedback().getFeedbackMessage());
+      // The branch may have moved since its head was listed, the fetched commit is used instead.
+      ObjectId fetched = git.getRepository().resolve(ref);
 
-      if (result.getError() == null) {
-        ValidationMarkdown.scoreTable(sb, result, config.getCategoryConfigs());
-        feedback(sb, result, config.getCategoryConfigs());
-      } else {
-        Markdown.message(sb, config.getStyleFeedback().getFeedbackError());
+      if (fetched == null) {
+        throw new IOException("Branch " + branch + " was not fetched from: " + url);
       }
 
-      Markdown.footer(sb, result.getRepo());
+      git.reset().setMode(ResetType.HARD).setRef(fetched.getName()).call();
 
-      github
-          .getRepository(result.getRepo().getName())
-          .createIssue(config.getStyleFeedback().getFeedbackTitle())
-          .body(sb.toString())
-          .create();
+      return fetched.getName();
     }
   }
 
-  private void feedback(StringBuilder sb, ValidationResult result, List<CategoryConfig> configs) {
-    boolean generatedHeader = false;
+  private FetchCommand fetch(Git git, String url) {
+    FetchCommand fetch = git.fetch().setRemote(url);
 
-    for (CategoryConfig config : configs) {
-      List<Violation> examples =
-          result.getViolations().getCategoryExamples(config.getCategory(), config.getExamples());
+    if (config.getGithubToken() != null) {
+      fetch.setCredentialsProvider(
+          new UsernamePasswordCredentialsProvider(config.getGithubToken(), ""));
+    }
 
-      if (examples.isEmpty()) {
-        continue;
+    return fetch;
+  }
+
+  private Git openRepo(Path dir) throws IOException, GitAPIException {
+    if (!Files.isDirectory(dir.resolve(Constants.DOT_GIT))) {
+      if (Files.exists(dir)) {
+        FileUtils.deleteDirectory(dir.toFile());
       }
 
-      if (!generatedHeader) {
-        Markdown.heading(sb, "Feedback", 2);
-        generatedHeader = true;
+      Git.init().setDirectory(dir.toFile()).call().close();
+    }
+
+    if (reference != null) {
+      // Objects found in the reference repo are neither fetched nor stored again.
+      Path alternates = dir.resolve(Constants.DOT_GIT).resolve("objects/info/alternates");
+      String objects = reference.resolve("objects").toAbsolutePath() + "\n";
+
+      if (!Files.exists(alternates) || !Files.readString(alternates).equals(objects)) {
+        Files.createDirectories(alternates.getParent());
+        Files.writeString(alternates, objects);
       }
+    }
 
-      Markdown.heading(sb, config.getCategory().toString(), 3);
+    return Git.open(dir.toFile());
+  }
 
-      for (Violation example : examples) {
-        Repo repo = result.getRepo();
-        Path relative =
-            repo.getDir().toAbsolutePath().relativize(example.getPath().toAbsolutePath());
+  // A bare copy of the template's history, which every student repo borrows objects from.
+  private Path syncReference(String url) {
+    Path dir = config.getRepos().resolve(REFERENCE);
+
+    try (Git git =
+        Files.isDirectory(dir)
+            ? Git.open(dir.toFile())
+            : Git.init().setBare(true).setDirectory(dir.toFile()).call()) {
+      fetch(git, url).setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*")).call();
+
+      return dir;
+    } catch (IOException | GitAPIException | JGitInternalException e) {
+      System.err.println("Unable to fetch the template, objects will not be shared.");
+      e.printStackTrace();
+      return null;
+    }
+  }
 
-        String url = repo.getFileLineUrl(relative, example.getLine());
+  private void printObjectSavings(List<Repo> repos) {
+    long objects = 0;
+    long bytes = 0;
 
-        if (example.getEndLine() != -1) {
-          url = repo.getFileRangeUrl(relative, example.getLine(), example.getEndLine());
-        }
+    try (Repository shared = new FileRepositoryBuilder().setGitDir(reference.toFile()).build()) {
+      for (Repo repo : repos) {
+        Path gitDir = repo.getDir().resolve(Constants.DOT_GIT);
 
-        sb.append(example.getType().getMessage()).append("\n").append(url).append("\n\n");
+        try (Repository local = new FileRepositoryBuilder().setGitDir(gitDir.toFile()).build();
+            ObjectReader reader = local.newObjectReader();
+            TreeWalk walk = new TreeWalk(reader)) {
+          ObjectId head = local.resolve(Constants.HEAD + "^{tree}");
+
+          if (head == null) {
+            continue;
+          }
+
+          walk.addTree(head);
+          walk.setRecursive(true);
+          walk.setPostOrderTraversal(true);
+
+          Set<ObjectId> seen = new HashSet<>();
+
+          while (walk.next()) {
+            ObjectId id = walk.getObjectId(0);
+
+            if (seen.add(id) && shared.getObjectDatabase().has(id)) {
+              objects++;
+              bytes += reader.getObjectSize(id, ObjectReader.OBJ_ANY);
+            }
+          }
+        }
       }
+    } catch (IOException e) {
+      e.printStackTrace();
+      return;
     }
+
+    System.out.println(
+        "Shared "
+            + objects
+            + " objects ("
+            + bytes / (1024 * 1024)
+            + " MiB uncompressed) with the template instead of fetching and storing them per repo,"
+            + " the shared store uses "
+            + FileUtils.sizeOfDirectory(reference.toFile()) / (1024 * 1024)
+            + " MiB.");
+  }
+
+  public void sendFeedback(List<ValidationResult> results) throws IOException {
+    new FeedbackPublisher(config, getClient()).publish(results);
   }
 }
@@ -1,74 +1,77 @@
 package gradestyle;
 
+import gradestyle.config.Config;
+import gradestyle.util.GitHead;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.lib.Constants;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class Repo {
   public static List<Repo> getRepos(Github github) {
     if (github.getConfig().getGithub()) {
       try {
         return github.cloneAssignment();
-      } catch (GitAPIException | IOException e) {
+      } catch (IOException e) {
         e.printStackTrace();
         System.err.println("Unable to clone assignment from GitHub.");
       }
     }
 
-    List<Repo> repos = new ArrayList<>();
-
-    Iterable<Path> paths;
+    Config config = github.getConfig();
+    List<Path> paths;
 
-    if (github.getConfig().getRepos() == null) {
-      paths = List.of(Paths.get("").toAbsolutePath());
-    } else {
-      try {
-        paths =
-            Files.newDirectoryStream(
-                github.getConfig().getRepos(),
-                new DirectoryStream.Filter<Path>() {
-                  @Override
-                  public boolean accept(Path path) {
-                    return !path.equals(github.getConfig().getTemplateRepo());
-                  }
-                });
-      } catch (IOException e) {
-        System.err.println("Unable to read local repos.");
+    try {
+      paths = getLocalPaths(config);
+    } catch (IOException e) {
+      System.err.println("Unable to read local repos.");
 
-        return repos;
-      }
+      return new ArrayList<>();
     }
 
-    for (Path path : paths) {
-      if (!Files.isDirectory(path)) {
-        continue;
-      }
-
-      String hash = null;
-
-      try {
-        hash =
-            Git.open(path.toFile())
-                .getRepository()
-                .exactRef(Constants.HEAD)
-                .getObjectId()
-                .getName();
-      } catch (IOException e) {
+    // Each repo only needs a few small reads, so they are discovered in parallel.
+    return paths.parallelStream()
+        .filter(Files::isDirectory)
+        .map(
+            path ->
+                new Repo(
+                    path,
+                    config.getGithubClassroom(),
+                    path.getFileName().toString(),
+                    GitHead.resolve(path)))
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  private static List<Path> getLocalPaths(Config config) throws IOException {
+    if (config.getReposManifest() != null) {
+      Path base = config.getReposManifest().toAbsolutePath().getParent();
+
+      try (Stream<String> lines = Files.lines(config.getReposManifest())) {
+        return lines
+            .map(String::trim)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .map(base::resolve)
+            .toList();
       }
+    }
 
-      repos.add(
-          new Repo(
-              path, github.getConfig().getGithubClassroom(), path.getFileName().toString(), hash));
+    if (config.getRepos() == null) {
+      return List.of(Paths.get("").toAbsolutePath());
     }
 
-    return repos;
+    try (Stream<Path> paths = Files.list(config.getRepos())) {
+      return paths
+          .filter(path -> !path.equals(config.getTemplateRepo()))
+          // Hidden directories, e.g. the shared objects of the template, are not repos.
+          .filter(path -> !path.getFileName().toString().startsWith("."))
+          .sorted()
+          .toList();
+    }
   }
 
   enum BuildTool {
@@ -98,13 +101,22 @@ public class Repo {
   }
 
   private void resolveBuildTool() {
-    if (Files.exists(dir.resolve("mvnw"))) {
+    Set<String> files;
+
+    // One listing instead of probing for each build file.
+    try (Stream<Path> paths = Files.list(dir)) {
+      files = paths.map(path -> path.getFileName().toString()).collect(Collectors.toSet());
+    } catch (IOException e) {
+      files = Set.of();
+    }
+
+    if (files.contains("mvnw")) {
       buildTool = BuildTool.MAVEN_WRAPPER;
-    } else if (Files.exists(dir.resolve("gradlew"))) {
+    } else if (files.contains("gradlew")) {
       buildTool = BuildTool.GRADLE_WRAPPER;
-    } else if (Files.exists(dir.resolve("pom.xml"))) {
+    } else if (files.contains("pom.xml")) {
       buildTool = BuildTool.MAVEN;
-    } else if (Files.exists(dir.resolve("build.gradle"))) {
+    } else if (files.contains("build.gradle")) {
       buildTool = BuildTool.GRADLE;
     } else {
       buildTool = BuildTool.NONE;
@@ -116,60 +128,7 @@ public class Repo {
   }
 
   public boolean generateBytecode() {
-    switch (buildTool) {
-      case MAVEN_WRAPPER:
-        return runMavenWrapper("compile");
-      case GRADLE_WRAPPER:
-        return runGradleWrapper();
-      case MAVEN:
-        return runMaven();
-      case GRADLE:
-        return runGradle();
-      default:
-        return false;
-    }
-  }
-
-  private boolean runGradle() {
-    throw new UnsupportedOperationException("Unimplemented method 'runGradle'");
-  }
-
-  private boolean runMaven() {
-    throw new UnsupportedOperationException("Unimplemented method 'runMaven'");
-  }
-
-  private boolean runGradleWrapper() {
-    throw new UnsupportedOperationException("Unimplemented method 'runGradleWrapper'");
-  }
-
-  private boolean runMavenWrapper(String... args) {
-    try {
-      List<String> command = new ArrayList<>();
-
-      boolean isWindows = System.getProperty("os.name").toLowerCase().contains("win");
-      if (isWindows) {
-        command.add("cmd.exe");
-        command.add("/c");
-        command.add("mvnw.cmd");
-      } else {
-        command.add("./mvnw");
-      }
-
-      for (String arg : args) {
-        command.add(arg);
-      }
-
-      ProcessBuilder pb = new ProcessBuilder(command);
-      pb.directory(dir.toFile());
-      pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
-      pb.redirectError(ProcessBuilder.Redirect.DISCARD);
-
-      Process p = pb.start();
-      return p.waitFor() == 0;
-    } catch (IOException | InterruptedException e) {
-      e.printStackTrace();
-    }
-    return false;
+    return BuildExecutor.get().build(this);
   }
 
   public Path getBytecodeDir() {
@@ -0,0 +1,54 @@
+package gradestyle;
+
+import gradestyle.config.CategoryConfig;
+import gradestyle.config.Config;
+import gradestyle.validator.ResultStore;
+import gradestyle.validator.ValidationResult;
+import java.io.IOException;
+import java.util.List;
+
+public class Rescore {
+  public static void main(String[] args) {
+    Config config = Config.parse(args);
+
+    if (config == null) {
+      System.exit(1);
+    }
+
+    if (config.getStore() == null) {
+      System.err.println("Missing results store in config file.");
+      System.exit(1);
+    }
+
+    ResultStore.Contents contents = null;
+
+    try {
+      contents = ResultStore.read(config.getStore());
+    } catch (IOException e) {
+      System.err.println("Unable to read results store.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+
+    for (CategoryConfig categoryConfig : config.getCategoryConfigs()) {
+      if (!contents.categories().contains(categoryConfig.getCategory())) {
+        System.err.println(
+            "Category \""
+                + categoryConfig.getCategory()
+                + "\" was not analysed for the results store, it will have no violations.");
+      }
+    }
+
+    List<Csv> csvs = Style.setupCsv(config);
+
+    try {
+      for (ValidationResult result : contents.results()) {
+        Style.incrementCsv(csvs, result);
+      }
+    } finally {
+      Style.closeCsv(csvs);
+    }
+
+    Style.outputMarkdown(config, contents.results());
+  }
+}
@@ -1,6 +1,12 @@
 package gradestyle;
 
 import gradestyle.config.Config;
+import gradestyle.config.Profile;
+import gradestyle.metrics.FlightRecording;
+import gradestyle.metrics.Metrics;
+import gradestyle.metrics.Tracer;
+import gradestyle.validator.Checkpoint;
+import gradestyle.validator.ResultStore;
 import gradestyle.validator.Validation;
 import gradestyle.validator.ValidationCsv;
 import gradestyle.validator.ValidationMarkdown;
@@ -9,6 +15,7 @@ import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
 import gradestyle.validator.checkstyle.Checkstyle;
 import gradestyle.validator.cpd.Cpd;
+import gradestyle.validator.javafx.JavaFx;
 import gradestyle.validator.javaparser.JavaParser;
 import gradestyle.validator.pmd.Pmd;
 import java.io.IOException;
@@ -23,12 +30,28 @@ public class Style {
       System.exit(1);
     }
 
+    run(config);
+  }
+
+  static List<ValidationResult> run(Config config) {
+    BuildExecutor.setup(config);
+
+    if (config.getTrace() != null) {
+      Tracer.get().enable();
+    }
+
+    if (config.getJfr() != null) {
+      FlightRecording.start(config.getJfr());
+    }
+
     Github github = new Github(config);
     List<Repo> repos = Repo.getRepos(github);
     List<ValidationResult> results = new ArrayList<>();
 
-    Validator[] validators = {new Checkstyle(), new JavaParser(), new Pmd(), new Cpd()};
-    Csv csv = setupCsv(config);
+    Validator[] validators = createValidators();
+    List<Csv> csvs = setupCsv(config);
+    Checkpoint checkpoint = setupCheckpoint(config);
+    ResultStore store = setupStore(config);
 
     try {
       Validation validation = new Validation(validators, config);
@@ -38,88 +61,226 @@ public class Style {
       }
 
       for (Repo repo : repos) {
-        ValidationResult result = validation.validate(repo);
+        ValidationResult result = restoreCheckpoint(checkpoint, repo);
 
-        incrementCsv(csv, result);
+        boolean restored = result != null;
+
+        if (!restored) {
+          result = validation.validate(repo);
+        }
+
+        incrementCsv(csvs, result);
+        incrementStore(store, result);
+
+        if (!restored) {
+          recordCheckpoint(checkpoint, result);
+        }
 
         results.add(result);
       }
+
+      validation.printStatistics();
+      BuildExecutor.get().printStatistics();
+      Metrics.get().printAllocations();
     } catch (ValidatorException e) {
       System.err.println("Unable to run style validation.");
       e.printStackTrace();
       System.exit(1);
     } finally {
-      if (csv != null) {
+      closeCsv(csvs);
+
+      if (checkpoint != null) {
         try {
-          csv.close();
+          checkpoint.close();
         } catch (IOException e) {
           e.printStackTrace();
         }
       }
     }
 
+    closeStore(store);
+
     // a future work could be to make the markdown and github feedback incremental as well, that way
     // we don't have to hold the list of results in memory, would only need to process one a time.
     outputMarkdown(config, results);
     sendGithubFeedback(github, results);
+    writeMetrics(config);
+    writeTrace(config);
+
+    return results;
   }
 
-  private static void incrementCsv(Csv csv, ValidationResult result) {
+  static Validator[] createValidators() {
+    return new Validator[] {new Checkstyle(), new JavaParser(), new Pmd(), new Cpd(), new JavaFx()};
+  }
+
+  private static Checkpoint setupCheckpoint(Config config) {
+    if (config.getCheckpoint() == null) {
+      return null;
+    }
 
-    if (csv == null) {
+    try {
+      return new Checkpoint(config.getCheckpoint(), config.getFingerprint());
+    } catch (IOException e) {
+      System.err.println("Unable to open checkpoint file.");
+      e.printStackTrace();
+      System.exit(1);
+      return null;
+    }
+  }
+
+  private static ValidationResult restoreCheckpoint(Checkpoint checkpoint, Repo repo) {
+    if (checkpoint == null) {
+      return null;
+    }
+
+    try {
+      ValidationResult result = checkpoint.restore(repo);
+
+      if (result != null) {
+        System.out.println("Skipping " + repo.getName() + ", already validated.");
+      }
+
+      return result;
+    } catch (IOException e) {
+      System.err.println("Unable to restore checkpoint for: " + repo.getName());
+      e.printStackTrace();
+      return null;
+    }
+  }
+
+  private static void recordCheckpoint(Checkpoint checkpoint, ValidationResult result) {
+    if (checkpoint == null) {
       return;
     }
 
     try {
-      csv.write(result);
+      checkpoint.record(result);
     } catch (IOException e) {
-      System.err.println("Unable to write CSV file.");
+      System.err.println("Unable to write checkpoint file.");
       e.printStackTrace();
       System.exit(1);
     }
   }
 
-  private static Csv setupCsv(Config config) {
-    if (config.getStyleFeedback().getReportsCsv() == null) {
-      System.out.println("no csv");
+  private static ResultStore setupStore(Config config) {
+    if (config.getStore() == null) {
       return null;
     }
 
-    ValidationCsv writer = new ValidationCsv(config.getCategoryConfigs());
     try {
-      return new Csv(config.getStyleFeedback().getReportsCsv(), writer);
+      return new ResultStore(config.getStore(), config.getCategoryConfigs());
     } catch (IOException e) {
-      System.err.println("Unable to open CSV file.");
+      System.err.println("Unable to open results store.");
       e.printStackTrace();
       System.exit(1);
       return null;
     }
   }
 
-  private static void outputMarkdown(Config config, List<ValidationResult> results) {
-    if (config.getStyleFeedback().getReportsMd() == null) {
+  private static void incrementStore(ResultStore store, ValidationResult result) {
+    if (store == null) {
       return;
     }
 
-    ValidationMarkdown writer = new ValidationMarkdown(config);
-    Markdown<ValidationResult> md =
-        new Markdown<>(config.getStyleFeedback().getReportsMd(), writer);
+    try {
+      store.write(result);
+    } catch (IOException e) {
+      System.err.println("Unable to write results store.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void closeStore(ResultStore store) {
+    if (store == null) {
+      return;
+    }
 
     try {
-      md.write(results);
+      store.close();
     } catch (IOException e) {
-      System.err.println("Unable to write markdown files.");
+      System.err.println("Unable to write results store.");
       e.printStackTrace();
       System.exit(1);
     }
   }
 
+  static void incrementCsv(List<Csv> csvs, ValidationResult result) {
+    String repo = result.getRepo().getName();
+
+    try (Metrics.Span span = Metrics.get().span(repo, "", "reporting")) {
+      for (Csv csv : csvs) {
+        csv.write(result);
+      }
+    } catch (IOException e) {
+      System.err.println("Unable to write CSV file.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  static List<Csv> setupCsv(Config config) {
+    List<Csv> csvs = new ArrayList<>();
+
+    for (Profile profile : config.getProfiles()) {
+      if (profile.getStyleFeedback().getReportsCsv() == null) {
+        continue;
+      }
+
+      ValidationCsv writer = new ValidationCsv(profile.getCategoryConfigs());
+      try {
+        csvs.add(new Csv(profile.getStyleFeedback().getReportsCsv(), writer));
+      } catch (IOException e) {
+        System.err.println("Unable to open CSV file.");
+        e.printStackTrace();
+        System.exit(1);
+      }
+    }
+
+    if (csvs.isEmpty()) {
+      System.out.println("no csv");
+    }
+
+    return csvs;
+  }
+
+  static void closeCsv(List<Csv> csvs) {
+    for (Csv csv : csvs) {
+      try {
+        csv.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  static void outputMarkdown(Config config, List<ValidationResult> results) {
+    for (Profile profile : config.getProfiles()) {
+      if (profile.getStyleFeedback().getReportsMd() == null) {
+        continue;
+      }
+
+      ValidationMarkdown writer = new ValidationMarkdown(profile);
+      Markdown<ValidationResult> md =
+          new Markdown<>(profile.getStyleFeedback().getReportsMd(), writer);
+
+      try (Metrics.Span span = Metrics.get().span("", "", "reporting")) {
+        md.write(results);
+      } catch (IOException e) {
+        System.err.println("Unable to write markdown files.");
+        e.printStackTrace();
+        System.exit(1);
+      }
+    }
+  }
+
   private static void sendGithubFeedback(Github github, List<ValidationResult> results) {
-    if (!github.getConfig().getGithubFeedback()) {
+    if (!github.getConfig().getGithubFeedback() && !github.getConfig().getGithubChecks()) {
       return;
     }
 
-    try {
+    try (Metrics.Span span = Metrics.get().span("", "", "feedback")) {
       github.sendFeedback(results);
     } catch (IOException e) {
       System.err.println("Unable to send GitHub feedback.");
@@ -127,4 +288,30 @@ public class Style {
       System.exit(1);
     }
   }
+
+  private static void writeMetrics(Config config) {
+    if (config.getMetrics() == null) {
+      return;
+    }
+
+    try {
+      Metrics.get().write(config.getMetrics());
+    } catch (IOException e) {
+      System.err.println("Unable to write metrics.");
+      e.printStackTrace();
+    }
+  }
+
+  private static void writeTrace(Config config) {
+    if (config.getTrace() == null) {
+      return;
+    }
+
+    try {
+      Tracer.get().write(config.getTrace());
+    } catch (IOException e) {
+      System.err.println("Unable to write trace.");
+      e.printStackTrace();
+    }
+  }
 }
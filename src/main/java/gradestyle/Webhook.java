@@ -0,0 +1,345 @@
+package gradestyle;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import gradestyle.config.Config;
+import gradestyle.config.FeedbackReportConfig;
+import gradestyle.config.Profile;
+import gradestyle.metrics.FlightRecording;
+import gradestyle.metrics.Metrics;
+import gradestyle.metrics.Tracer;
+import gradestyle.validator.ResultStore;
+import gradestyle.validator.Validation;
+import gradestyle.validator.ValidationCsv;
+import gradestyle.validator.ValidationMarkdown;
+import gradestyle.validator.ValidationResult;
+import gradestyle.validator.Validator;
+import gradestyle.validator.ValidatorException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+public class Webhook {
+  record Push(String name, String url, String branch, String commit) {}
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  // Repo names are used as directory names, so they cannot contain paths.
+  // Reports are written at least this often while pushes keep arriving.
+  private static final Duration FLUSH_INTERVAL = Duration.ofMinutes(1);
+
+  private static final Pattern REPO_NAME = Pattern.compile("[A-Za-z0-9_][A-Za-z0-9._-]*");
+
+  public static void main(String[] args) {
+    Config config = Config.parse(args);
+
+    if (config == null) {
+      System.exit(1);
+    }
+
+    // The CSV reports are rewritten from the stored results, without them only pushed repos remain.
+    if (config.getStore() == null) {
+      System.err.println("The webhook receiver requires a results store, set store.");
+      System.exit(1);
+    }
+
+    BuildExecutor.setup(config);
+
+    if (config.getTrace() != null) {
+      Tracer.get().enable();
+    }
+
+    if (config.getJfr() != null) {
+      FlightRecording.start(config.getJfr());
+    }
+
+    try {
+      new Webhook(config).start();
+    } catch (ValidatorException | IOException e) {
+      System.err.println("Unable to start the webhook receiver.");
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private Config config;
+
+  private Github github;
+
+  private Validation validation;
+
+  // The latest result of each repo, as the CSV reports hold every repo.
+  private Map<String, ValidationResult> results = new LinkedHashMap<>();
+
+  // A newer push to a repo replaces one that is still waiting.
+  private Map<String, Push> pending = new ConcurrentHashMap<>();
+
+  // The validators are kept warm between pushes, and are not thread safe.
+  private ExecutorService worker = Executors.newSingleThreadExecutor();
+
+  private HttpServer server;
+
+  // Whether results are missing from the CSV reports and the store, only used by the worker.
+  private boolean unwritten;
+
+  private long flushed = System.nanoTime();
+
+  public Webhook(Config config) throws ValidatorException, IOException {
+    this.config = config;
+    this.github = new Github(config);
+
+    Validator[] validators = Style.createValidators();
+    this.validation = new Validation(validators, config);
+
+    for (Validator validator : validators) {
+      validator.setup(config);
+    }
+
+    if (Files.exists(config.getStore())) {
+      for (ValidationResult result : ResultStore.read(config.getStore()).results()) {
+        results.put(result.getRepo().getName(), result);
+      }
+    }
+  }
+
+  public void start() throws IOException {
+    InetSocketAddress address = new InetSocketAddress(config.getWebhookPort());
+
+    // Unsigned pushes are only accepted from this machine, e.g. for testing.
+    if (config.getWebhookSecret() == null) {
+      address = new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getWebhookPort());
+      System.err.println("No webhook.secret is set, only listening on localhost.");
+    }
+
+    server = HttpServer.create(address, 0);
+    server.createContext("/", this::handle);
+    server.start();
+
+    System.out.println("Listening for webhooks on port " + getPort() + ".");
+  }
+
+  // The port listened on, which differs from webhook.port when that is 0.
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public void stop() {
+    server.stop(0);
+    worker.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      byte[] body = exchange.getRequestBody().readAllBytes();
+
+      if (!exchange.getRequestMethod().equals("POST")) {
+        respond(exchange, 405);
+        return;
+      }
+
+      if (!verify(exchange.getRequestHeaders().getFirst("X-Hub-Signature-256"), body)) {
+        respond(exchange, 401);
+        return;
+      }
+
+      Push push = null;
+
+      if ("push".equals(exchange.getRequestHeaders().getFirst("X-GitHub-Event"))) {
+        push = parsePush(MAPPER.readTree(body));
+      }
+
+      if (push == null) {
+        respond(exchange, 204);
+        return;
+      }
+
+      if (pending.put(push.name(), push) == null) {
+        worker.execute(() -> process(push.name()));
+      }
+
+      respond(exchange, 202);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void respond(HttpExchange exchange, int status) throws IOException {
+    exchange.sendResponseHeaders(status, -1);
+  }
+
+  private boolean verify(String signature, byte[] body) {
+    if (config.getWebhookSecret() == null) {
+      return true;
+    }
+
+    if (signature == null) {
+      return false;
+    }
+
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      byte[] secret = config.getWebhookSecret().getBytes(StandardCharsets.UTF_8);
+      mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+
+      String expected = "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+
+      return MessageDigest.isEqual(
+          expected.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // Only pushes to the default branch of an assignment repo are validated.
+  Push parsePush(JsonNode payload) {
+    JsonNode repository = payload.path("repository");
+    String name = repository.path("name").asText();
+    String branch = repository.path("default_branch").asText();
+    String commit = payload.path("after").asText();
+
+    if (!REPO_NAME.matcher(name).matches()
+        || !name.startsWith(config.getGithubAssignment())
+        || name.equals(config.getTemplateRepo().getFileName().toString())
+        || !payload.path("ref").asText().equals("refs/heads/" + branch)
+        || !Repository.isValidRefName(Constants.R_HEADS + branch)
+        || !ObjectId.isId(commit)
+        || commit.matches("0*")) {
+      return null;
+    }
+
+    // The URL is never taken from the payload, the token is only ever sent to the organisation.
+    String url = "https://github.com/" + config.getGithubClassroom() + "/" + name + ".git";
+
+    if (config.getGithubRemote() != null) {
+      Path dir = config.getGithubRemote().resolve(name);
+
+      if (!Files.isDirectory(dir)) {
+        dir = config.getGithubRemote().resolve(name + ".git");
+      }
+
+      url = dir.toUri().toString();
+    }
+
+    return new Push(name, url, branch, commit);
+  }
+
+  private void process(String name) {
+    Push push = pending.remove(name);
+
+    if (push == null) {
+      return;
+    }
+
+    try {
+      Repo repo = github.updateRepo(push.name(), push.url(), push.branch(), push.commit());
+
+      if (repo == null) {
+        return;
+      }
+
+      ValidationResult result = validation.validate(repo);
+      results.put(name, result);
+      unwritten = true;
+
+      writeMarkdown(result);
+
+      if (config.getGithubFeedback() || config.getGithubChecks()) {
+        github.sendFeedback(List.of(result));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ValidatorException | IOException e) {
+      System.err.println("Unable to process push to: " + name);
+      e.printStackTrace();
+    } finally {
+      flushReports();
+    }
+  }
+
+  // Only the pushed repo's markdown changes.
+  private void writeMarkdown(ValidationResult result) throws IOException {
+    for (Profile profile : config.getProfiles()) {
+      FeedbackReportConfig reports = profile.getStyleFeedback();
+
+      if (reports.getReportsMd() != null) {
+        ValidationMarkdown writer = new ValidationMarkdown(profile);
+        new Markdown<>(reports.getReportsMd(), writer).write(List.of(result));
+      }
+    }
+  }
+
+  // Rewriting the reports takes time for every repo, so it waits until the queued pushes are
+  // processed, unless they keep coming.
+  private void flushReports() {
+    long now = System.nanoTime();
+
+    if (!unwritten || (!pending.isEmpty() && now - flushed < FLUSH_INTERVAL.toNanos())) {
+      return;
+    }
+
+    try {
+      writeReports();
+      unwritten = false;
+      flushed = now;
+    } catch (IOException e) {
+      System.err.println("Unable to write the reports.");
+      e.printStackTrace();
+    }
+  }
+
+  // The CSV files and the store hold every repo, so are rewritten from all the results.
+  private void writeReports() throws IOException {
+    for (Profile profile : config.getProfiles()) {
+      FeedbackReportConfig reports = profile.getStyleFeedback();
+
+      if (reports.getReportsCsv() != null) {
+        Csv csv = new Csv(reports.getReportsCsv(), new ValidationCsv(profile.getCategoryConfigs()));
+
+        try {
+          for (ValidationResult result : results.values()) {
+            csv.write(result);
+          }
+        } finally {
+          csv.close();
+        }
+      }
+    }
+
+    ResultStore store = new ResultStore(config.getStore(), config.getCategoryConfigs());
+
+    for (ValidationResult result : results.values()) {
+      store.write(result);
+    }
+
+    store.close();
+
+    if (config.getMetrics() != null) {
+      Metrics.get().write(config.getMetrics());
+    }
+
+    if (config.getTrace() != null) {
+      Tracer.get().write(config.getTrace());
+    }
+  }
+}
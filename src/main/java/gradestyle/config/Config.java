@@ -10,11 +10,18 @@ import gradestyle.config.programmingpracticeconfig.EmptyCatchBlockConfig;
 import gradestyle.config.programmingpracticeconfig.FinalizeOverrideConfig;
 import gradestyle.config.programmingpracticeconfig.MissingOverrideConfig;
 import gradestyle.config.programmingpracticeconfig.UnqualifiedStaticAccessConfig;
+import gradestyle.util.Hash;
 import gradestyle.validator.Category;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.FileBasedConfiguration;
 import org.apache.commons.configuration2.PropertiesConfiguration;
@@ -26,15 +33,32 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 
 public class Config {
   public static Config parse(String[] args) {
-    if (args.length != 1) {
+    List<String> files = new ArrayList<>();
+    Path jfr = null;
+
+    for (String arg : args) {
+      if (arg.equals("--jfr")) {
+        jfr = Path.of("gradestyle.jfr");
+      } else if (arg.startsWith("--jfr=")) {
+        jfr = Path.of(arg.substring("--jfr=".length()));
+      } else {
+        files.add(arg);
+      }
+    }
+
+    if (files.size() != 1) {
       System.err.println("Missing config file argument.");
       return null;
     }
 
     try {
-      return createConfig(args[0]);
+      Config config = createConfig(files.get(0));
+      config.jfr = jfr;
+
+      return config;
     } catch (ConfigurationException e) {
-      System.err.println("Invalid config file: " + args[0]);
+      System.err.println("Invalid config file: " + files.get(0));
+      System.err.println(e.getMessage());
     }
 
     return null;
@@ -54,12 +78,17 @@ public class Config {
 
     Path parent = Path.of(filename).toAbsolutePath().getParent();
     Path repos = resolveOptionalPath(parent, config.getString("repos"), parent);
+    Path reposManifest = resolveOptionalPath(parent, config.getString("repos.manifest"), null);
     String packageString = config.getString("package");
 
     Path defaultTemplate = repos.resolve(repos.getFileName());
     Path template = resolveOptionalPath(repos, config.getString("template"), defaultTemplate);
     boolean templateIgnoreViolations = config.getBoolean("template.ignoreViolations", false);
 
+    Path cache = resolveOptionalPath(parent, config.getString("cache"), null);
+    Path checkpoint = resolveOptionalPath(parent, config.getString("checkpoint"), null);
+    Path store = resolveOptionalPath(parent, config.getString("store"), null);
+
     Path reportsCsv = resolveOptionalPath(parent, config.getString("reports.csv"), null);
     Path reportsMd = resolveOptionalPath(parent, config.getString("reports.md"), null);
     String feedbackTitle = config.getString("feedback.title");
@@ -70,26 +99,173 @@ public class Config {
         new FeedbackReportConfig(
             reportsCsv, reportsMd, feedbackTitle, feedbackMessage, feedbackError);
 
+    int defaultBuildThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    int buildThreads = config.getInt("build.threads", defaultBuildThreads);
+    long buildTimeout = config.getLong("build.timeout", 300);
+    Path buildMavenRepo = resolveOptionalPath(parent, config.getString("build.mavenRepo"), null);
+    boolean buildOffline = config.getBoolean("build.offline", false);
+
+    long budgetFile = config.getLong("budget.file", 0);
+    long budgetValidator = config.getLong("budget.validator", 0);
+
+    int webhookPort = config.getInt("webhook.port", 8080);
+    String webhookSecret = config.getString("webhook.secret");
+
+    List<Profile> profiles = new ArrayList<>();
+
+    if (config.containsKey("profiles")) {
+      for (String name : config.getStringArray("profiles")) {
+        profiles.add(createProfile(name, config, parent, styleFeedback));
+      }
+    } else {
+      profiles.add(new Profile(null, createCategoryConfigs(config, config), styleFeedback));
+    }
+
+    // Written next to the first CSV report, unless set.
+    Path firstCsv = profiles.get(0).getStyleFeedback().getReportsCsv();
+    Path defaultMetrics = firstCsv != null ? firstCsv.getParent() : null;
+    Path metrics = resolveOptionalPath(parent, config.getString("metrics"), defaultMetrics);
+    Path trace = resolveOptionalPath(parent, config.getString("trace"), null);
+
     boolean github = config.getBoolean("github", false);
     String githubToken = config.getString("github.token");
     String githubClassroom = config.getString("github.classroom");
     String githubAssignment = config.getString("github.assignment");
     boolean githubFeedback = config.getBoolean("github.feedback", false);
+    boolean githubChecks = config.getBoolean("github.checks", false);
+    int githubThreads = config.getInt("github.threads", 8);
+    int githubRetries = config.getInt("github.retries", 3);
+    Path githubRemote = resolveOptionalPath(parent, config.getString("github.remote"), null);
+    boolean githubShareObjects = config.getBoolean("github.shareObjects", false);
+    String githubApi = config.getString("github.api", "https://api.github.com");
+    Path defaultGithubState = repos.resolve(".feedback.properties");
+    Path githubState =
+        resolveOptionalPath(parent, config.getString("github.state"), defaultGithubState);
+    Path defaultGithubCache = repos.resolve(".github-cache");
+    Path githubCache =
+        resolveOptionalPath(parent, config.getString("github.cache"), defaultGithubCache);
+
+    // The validators check every category used by any profile.
+    Map<Category, CategoryConfig> categoryConfigs = new EnumMap<>(Category.class);
+
+    for (Profile profile : profiles) {
+      for (CategoryConfig categoryConfig : profile.getCategoryConfigs()) {
+        categoryConfigs.putIfAbsent(categoryConfig.getCategory(), categoryConfig);
+      }
+    }
 
-    List<CategoryConfig> categoryConfigs = createCategoryConfigs(config);
+    boolean feedbackCategories = !profiles.get(0).getCategoryConfigs().isEmpty();
+    String issueTitle = profiles.get(0).getStyleFeedback().getFeedbackTitle();
+
+    // The feedback issue is titled, and found again on reruns, by the feedback title.
+    if (github && feedbackCategories && githubFeedback && issueTitle == null) {
+      throw new ConfigurationException("feedback.title is required when github.feedback is set.");
+    }
 
     return new Config(
         repos,
+        reposManifest,
         packageString,
         template,
         templateIgnoreViolations,
-        styleFeedback,
+        cache,
+        checkpoint,
+        store,
+        getFingerprint(config, categoryConfigs.keySet()),
+        profiles,
         github,
         githubToken,
         githubClassroom,
         githubAssignment,
-        github && !categoryConfigs.isEmpty() && githubFeedback,
-        categoryConfigs);
+        github && feedbackCategories && githubFeedback,
+        github && feedbackCategories && githubChecks,
+        githubThreads,
+        githubRetries,
+        githubRemote,
+        githubShareObjects,
+        githubApi,
+        githubState,
+        githubCache,
+        webhookPort,
+        webhookSecret,
+        buildThreads,
+        buildTimeout,
+        buildMavenRepo,
+        buildOffline,
+        budgetFile,
+        budgetValidator,
+        metrics,
+        trace,
+        new ArrayList<>(categoryConfigs.values()));
+  }
+
+  // Hash of every setting that changes the violations found, so reports, feedback and scores can be
+  // changed without invalidating stored results. Of the category settings only which categories
+  // are checked, by any profile, is kept.
+  private static String getFingerprint(Configuration config, Set<Category> categories) {
+    TreeMap<String, String> settings = new TreeMap<>();
+    Iterator<String> keys = config.getKeys();
+    List<String> profiles = Arrays.asList(config.getStringArray("profiles"));
+
+    while (keys.hasNext()) {
+      String key = keys.next();
+
+      if (isScoring(key, profiles)
+          || key.startsWith("reports.")
+          || key.startsWith("feedback.")
+          || key.contains(".reports.")
+          || key.contains(".feedback.")
+          || key.startsWith("github")
+          || key.startsWith("webhook")
+          || key.startsWith("build.")
+          || key.startsWith("budget.")
+          || key.startsWith("repos")
+          || key.equals("cache")
+          || key.equals("checkpoint")
+          || key.equals("store")
+          || key.equals("metrics")
+          || key.equals("trace")) {
+        continue;
+      }
+
+      settings.put(key, String.valueOf(config.getList(key)));
+    }
+
+    settings.put("categories", categories.toString());
+
+    return Hash.sha256(settings.toString());
+  }
+
+  // Enabling a category, and its mode, scores and examples, per profile or not.
+  private static boolean isScoring(String key, List<String> profiles) {
+    String[] parts = key.split("\\.");
+
+    if (key.equals("profiles") || profiles.contains(parts[0])) {
+      return true;
+    }
+
+    if (Arrays.stream(Category.values()).noneMatch(category -> category.name().equals(parts[0]))) {
+      return false;
+    }
+
+    return parts.length == 1 || List.of("mode", "scores", "examples").contains(parts[1]);
+  }
+
+  private static Profile createProfile(
+      String name, Configuration config, Path parent, FeedbackReportConfig defaults) {
+    Configuration profile = config.subset(name);
+
+    Path reportsCsv = resolveOptionalPath(parent, profile.getString("reports.csv"), null);
+    Path reportsMd = resolveOptionalPath(parent, profile.getString("reports.md"), null);
+    String feedbackTitle = profile.getString("feedback.title", defaults.getFeedbackTitle());
+    String feedbackMessage = profile.getString("feedback.message", defaults.getFeedbackMessage());
+    String feedbackError = profile.getString("feedback.error", defaults.getFeedbackError());
+
+    FeedbackReportConfig styleFeedback =
+        new FeedbackReportConfig(
+            reportsCsv, reportsMd, feedbackTitle, feedbackMessage, feedbackError);
+
+    return new Profile(name, createCategoryConfigs(profile, config), styleFeedback);
   }
 
   private static Path resolveOptionalPath(Path path, String other, Path fallback) {
@@ -104,17 +280,20 @@ public class Config {
     return path.resolve(other);
   }
 
-  private static List<CategoryConfig> createCategoryConfigs(Configuration config) {
+  // Profiles choose the categories and how they are scored, the settings of the checks themselves
+  // are shared so the repos only have to be validated once.
+  private static List<CategoryConfig> createCategoryConfigs(
+      Configuration profile, Configuration config) {
     List<CategoryConfig> categoryConfigs = new ArrayList<>();
 
     for (Category category : Category.values()) {
-      if (!config.getBoolean(category.name(), false)) {
+      if (!profile.getBoolean(category.name(), false)) {
         continue;
       }
 
-      int examples = config.getInt(category.name() + ".examples", Integer.MAX_VALUE);
-      Mode mode = config.get(Mode.class, category.name() + ".mode");
-      List<Integer> scoreList = config.getList(Integer.class, category.name() + ".scores");
+      int examples = profile.getInt(category.name() + ".examples", Integer.MAX_VALUE);
+      Mode mode = profile.get(Mode.class, category.name() + ".mode");
+      List<Integer> scoreList = profile.getList(Integer.class, category.name() + ".scores");
 
       Collections.sort(scoreList);
       int minWords;
@@ -199,13 +378,23 @@ public class Config {
 
   private Path repos;
 
+  private Path reposManifest;
+
   private String packageString;
 
   private Path templateRepo;
 
   private boolean templateIgnoreViolations;
 
-  private FeedbackReportConfig styleFeedback;
+  private Path cache;
+
+  private Path checkpoint;
+
+  private Path store;
+
+  private String fingerprint;
+
+  private List<Profile> profiles;
 
   private boolean github;
 
@@ -217,30 +406,114 @@ public class Config {
 
   private boolean githubFeedback;
 
+  private boolean githubChecks;
+
+  private int githubThreads;
+
+  private int githubRetries;
+
+  private Path githubRemote;
+
+  private boolean githubShareObjects;
+
+  private String githubApi;
+
+  private Path githubState;
+
+  private Path githubCache;
+
+  private int webhookPort;
+
+  private String webhookSecret;
+
+  private int buildThreads;
+
+  private long buildTimeout;
+
+  private Path buildMavenRepo;
+
+  private boolean buildOffline;
+
+  private long budgetFile;
+
+  private long budgetValidator;
+
+  private Path metrics;
+
+  private Path trace;
+
+  private Path jfr;
+
   private List<CategoryConfig> categoryConfigs;
 
   private Config(
       Path repos,
+      Path reposManifest,
       String packageString,
       Path templateRepo,
       boolean templateIgnoreViolations,
-      FeedbackReportConfig styleFeedback,
+      Path cache,
+      Path checkpoint,
+      Path store,
+      String fingerprint,
+      List<Profile> profiles,
       boolean github,
       String githubToken,
       String githubClassroom,
       String githubAssignment,
       boolean githubFeedback,
+      boolean githubChecks,
+      int githubThreads,
+      int githubRetries,
+      Path githubRemote,
+      boolean githubShareObjects,
+      String githubApi,
+      Path githubState,
+      Path githubCache,
+      int webhookPort,
+      String webhookSecret,
+      int buildThreads,
+      long buildTimeout,
+      Path buildMavenRepo,
+      boolean buildOffline,
+      long budgetFile,
+      long budgetValidator,
+      Path metrics,
+      Path trace,
       List<CategoryConfig> categoryConfigs) {
     this.repos = repos;
+    this.reposManifest = reposManifest;
     this.packageString = packageString;
     this.templateRepo = templateRepo;
     this.templateIgnoreViolations = templateIgnoreViolations;
-    this.styleFeedback = styleFeedback;
+    this.cache = cache;
+    this.checkpoint = checkpoint;
+    this.store = store;
+    this.fingerprint = fingerprint;
+    this.profiles = profiles;
     this.github = github;
     this.githubToken = githubToken;
     this.githubClassroom = githubClassroom;
     this.githubAssignment = githubAssignment;
     this.githubFeedback = githubFeedback;
+    this.githubChecks = githubChecks;
+    this.githubThreads = githubThreads;
+    this.githubRetries = githubRetries;
+    this.githubRemote = githubRemote;
+    this.githubShareObjects = githubShareObjects;
+    this.githubApi = githubApi;
+    this.githubState = githubState;
+    this.githubCache = githubCache;
+    this.webhookPort = webhookPort;
+    this.webhookSecret = webhookSecret;
+    this.buildThreads = buildThreads;
+    this.buildTimeout = buildTimeout;
+    this.buildMavenRepo = buildMavenRepo;
+    this.buildOffline = buildOffline;
+    this.budgetFile = budgetFile;
+    this.budgetValidator = budgetValidator;
+    this.metrics = metrics;
+    this.trace = trace;
     this.categoryConfigs = categoryConfigs;
   }
 
@@ -248,6 +521,10 @@ public class Config {
     return repos;
   }
 
+  public Path getReposManifest() {
+    return reposManifest;
+  }
+
   public String getPackage() {
     return packageString;
   }
@@ -260,8 +537,29 @@ public class Config {
     return templateIgnoreViolations;
   }
 
-  public FeedbackReportConfig getStyleFeedback() {
-    return styleFeedback;
+  public Path getCache() {
+    return cache;
+  }
+
+  public Path getCheckpoint() {
+    return checkpoint;
+  }
+
+  public Path getStore() {
+    return store;
+  }
+
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public List<Profile> getProfiles() {
+    return profiles;
+  }
+
+  // GitHub feedback is generated using the first profile.
+  public Profile getFeedbackProfile() {
+    return profiles.get(0);
   }
 
   public boolean getGithub() {
@@ -284,6 +582,82 @@ public class Config {
     return githubFeedback;
   }
 
+  public boolean getGithubChecks() {
+    return githubChecks;
+  }
+
+  public int getGithubThreads() {
+    return githubThreads;
+  }
+
+  public int getGithubRetries() {
+    return githubRetries;
+  }
+
+  public Path getGithubRemote() {
+    return githubRemote;
+  }
+
+  public boolean getGithubShareObjects() {
+    return githubShareObjects;
+  }
+
+  public String getGithubApi() {
+    return githubApi;
+  }
+
+  public Path getGithubState() {
+    return githubState;
+  }
+
+  public Path getGithubCache() {
+    return githubCache;
+  }
+
+  public int getWebhookPort() {
+    return webhookPort;
+  }
+
+  public String getWebhookSecret() {
+    return webhookSecret;
+  }
+
+  public int getBuildThreads() {
+    return buildThreads;
+  }
+
+  public long getBuildTimeout() {
+    return buildTimeout;
+  }
+
+  public Path getBuildMavenRepo() {
+    return buildMavenRepo;
+  }
+
+  public boolean getBuildOffline() {
+    return buildOffline;
+  }
+
+  public long getBudgetFile() {
+    return budgetFile;
+  }
+
+  public long getBudgetValidator() {
+    return budgetValidator;
+  }
+
+  public Path getMetrics() {
+    return metrics;
+  }
+
+  public Path getTrace() {
+    return trace;
+  }
+
+  public Path getJfr() {
+    return jfr;
+  }
+
   public List<CategoryConfig> getCategoryConfigs() {
     return categoryConfigs;
   }
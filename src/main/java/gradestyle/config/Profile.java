@@ -0,0 +1,30 @@
+package gradestyle.config;
+
+import java.util.List;
+
+public class Profile {
+  private String name;
+
+  private List<CategoryConfig> categoryConfigs;
+
+  private FeedbackReportConfig styleFeedback;
+
+  public Profile(
+      String name, List<CategoryConfig> categoryConfigs, FeedbackReportConfig styleFeedback) {
+    this.name = name;
+    this.categoryConfigs = categoryConfigs;
+    this.styleFeedback = styleFeedback;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<CategoryConfig> getCategoryConfigs() {
+    return categoryConfigs;
+  }
+
+  public FeedbackReportConfig getStyleFeedback() {
+    return styleFeedback;
+  }
+}
@@ -0,0 +1,43 @@
+package gradestyle.github;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+public class DeliveryState {
+  private Path file;
+
+  private Properties properties = new Properties();
+
+  public DeliveryState(Path file) throws IOException {
+    this.file = file;
+
+    if (Files.exists(file)) {
+      try (Reader reader = Files.newBufferedReader(file)) {
+        properties.load(reader);
+      }
+    }
+  }
+
+  public synchronized String get(String repo, String key) {
+    return properties.getProperty(repo + "." + key);
+  }
+
+  // Saved straight away, so a crashed run knows which repos already have their feedback.
+  public synchronized void put(String repo, String key, String value) throws IOException {
+    properties.setProperty(repo + "." + key, value);
+
+    Files.createDirectories(file.getParent());
+    Path temp = Files.createTempFile(file.getParent(), "feedback", ".tmp");
+
+    try (Writer writer = Files.newBufferedWriter(temp)) {
+      properties.store(writer, null);
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
@@ -0,0 +1,316 @@
+package gradestyle.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gradestyle.Markdown;
+import gradestyle.Repo;
+import gradestyle.config.CategoryConfig;
+import gradestyle.config.Config;
+import gradestyle.config.Profile;
+import gradestyle.metrics.Metrics;
+import gradestyle.util.Hash;
+import gradestyle.validator.ValidationMarkdown;
+import gradestyle.validator.ValidationResult;
+import gradestyle.validator.Violation;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FeedbackPublisher {
+  private enum Delivery {
+    SENT,
+    SKIPPED,
+    FAILED
+  }
+
+  private static final String CHECK_NAME = "GradeStyle";
+
+  private static final int ANNOTATIONS = 50;
+
+  private Config config;
+
+  private GithubClient client;
+
+  private DeliveryState state;
+
+  private Profile profile;
+
+  public FeedbackPublisher(Config config, GithubClient client) throws IOException {
+    this.config = config;
+    this.client = client;
+    this.state = new DeliveryState(config.getGithubState());
+    this.profile = config.getFeedbackProfile();
+  }
+
+  public void publish(List<ValidationResult> results) throws IOException {
+    List<Callable<Delivery>> tasks = new ArrayList<>();
+
+    for (ValidationResult result : results) {
+      tasks.add(() -> publish(result));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(config.getGithubThreads());
+    Map<Delivery, Integer> deliveries = new EnumMap<>(Delivery.class);
+
+    try {
+      for (Future<Delivery> future : executor.invokeAll(tasks)) {
+        deliveries.merge(future.get(), 1, Integer::sum);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    System.out.println(
+        "Feedback sent to "
+            + deliveries.getOrDefault(Delivery.SENT, 0)
+            + " repos, "
+            + deliveries.getOrDefault(Delivery.SKIPPED, 0)
+            + " were unchanged and "
+            + deliveries.getOrDefault(Delivery.FAILED, 0)
+            + " failed.");
+  }
+
+  private Delivery publish(ValidationResult result) {
+    Repo repo = result.getRepo();
+    boolean sent = false;
+
+    try (Metrics.Span span = Metrics.get().span(repo.getName(), "", "feedback")) {
+      if (config.getGithubFeedback() && !result.getViolations().getViolations().isEmpty()) {
+        sent |= publishIssue(result);
+      }
+
+      if (config.getGithubChecks() && repo.getCommit() != null) {
+        sent |= publishCheck(result);
+      }
+
+      return sent ? Delivery.SENT : Delivery.SKIPPED;
+    } catch (IOException | RuntimeException e) {
+      // Only this repo's feedback is missing, the others are still sent.
+      System.err.println("Unable to send feedback to: " + repo.getName());
+      e.printStackTrace();
+      return Delivery.FAILED;
+    }
+  }
+
+  private boolean publishIssue(ValidationResult result) throws IOException {
+    Repo repo = result.getRepo();
+    String body = render(result);
+    String hash = Hash.sha256(body);
+
+    // Unchanged reports cost no requests at all.
+    if (hash.equals(state.get(repo.getName(), "hash"))) {
+      return false;
+    }
+
+    String path = "/repos/" + repo.getOrg() + "/" + repo.getName() + "/issues";
+    Map<String, String> issue = Map.of("title", getTitle(), "body", body);
+    String number = state.get(repo.getName(), "issue");
+
+    if (number == null) {
+      number = findIssue(path);
+    }
+
+    if (number == null) {
+      number = createIssue(path, issue);
+    } else {
+      try {
+        client.send("PATCH", path + "/" + number, issue);
+      } catch (GithubException e) {
+        if (e.getStatus() != 404 && e.getStatus() != 410) {
+          throw e;
+        }
+
+        // The issue was deleted or transferred since it was cached.
+        number = createIssue(path, issue);
+      }
+    }
+
+    state.put(repo.getName(), "issue", number);
+    state.put(repo.getName(), "hash", hash);
+
+    return true;
+  }
+
+  // Every violation becomes an annotation on the commit, the API takes 50 per request.
+  private boolean publishCheck(ValidationResult result) throws IOException {
+    Repo repo = result.getRepo();
+    String summary = renderSummary(result);
+    List<Map<String, Object>> annotations = getAnnotations(result);
+    String hash = Hash.sha256(repo.getCommit(), summary, annotations);
+
+    if (hash.equals(state.get(repo.getName(), "checkHash"))) {
+      return false;
+    }
+
+    String path = "/repos/" + repo.getOrg() + "/" + repo.getName() + "/check-runs";
+    String title = getTitle() != null ? getTitle() : CHECK_NAME;
+    int batches = Math.max(1, (annotations.size() + ANNOTATIONS - 1) / ANNOTATIONS);
+    String id = null;
+
+    for (int batch = 0; batch < batches; batch++) {
+      int from = batch * ANNOTATIONS;
+      int to = Math.min(from + ANNOTATIONS, annotations.size());
+
+      Map<String, Object> run = new HashMap<>();
+      run.put(
+          "output",
+          Map.of("title", title, "summary", summary, "annotations", annotations.subList(from, to)));
+
+      if (batch == batches - 1) {
+        boolean clean = result.getError() == null && annotations.isEmpty();
+
+        run.put("status", "completed");
+        run.put("conclusion", clean ? "success" : "neutral");
+      } else {
+        run.put("status", "in_progress");
+      }
+
+      if (id == null) {
+        run.put("name", CHECK_NAME);
+        run.put("head_sha", repo.getCommit());
+        id = client.send("POST", path, run).body().path("id").asText();
+      } else {
+        client.send("PATCH", path + "/" + id, run);
+      }
+    }
+
+    state.put(repo.getName(), "checkHash", hash);
+
+    return true;
+  }
+
+  private List<Map<String, Object>> getAnnotations(ValidationResult result) {
+    List<Map<String, Object>> annotations = new ArrayList<>();
+
+    if (result.getError() != null) {
+      return annotations;
+    }
+
+    Path dir = result.getRepo().getDir().toAbsolutePath();
+
+    for (CategoryConfig config : profile.getCategoryConfigs()) {
+      List<Violation> violations =
+          result.getViolations().filterByCategory(config.getCategory()).getViolations();
+
+      for (Violation violation : violations.stream().distinct().toList()) {
+        Path relative = dir.relativize(violation.getPath().toAbsolutePath());
+        int line = Math.max(1, violation.getLine());
+
+        Map<String, Object> annotation = new LinkedHashMap<>();
+        annotation.put("path", relative.toString().replace('\\', '/'));
+        annotation.put("start_line", line);
+        annotation.put("end_line", Math.max(line, violation.getEndLine()));
+        annotation.put("annotation_level", "warning");
+        annotation.put("title", config.getCategory().toString());
+        annotation.put("message", violation.getMessage());
+        annotations.add(annotation);
+      }
+    }
+
+    return annotations;
+  }
+
+  private String getTitle() {
+    return profile.getStyleFeedback().getFeedbackTitle();
+  }
+
+  private String findIssue(String path) throws IOException {
+    for (int page = 1; ; page++) {
+      JsonNode issues = client.get(path + "?state=all&per_page=100&page=" + page).body();
+
+      if (!issues.isArray() || issues.isEmpty()) {
+        return null;
+      }
+
+      for (JsonNode issue : issues) {
+        if (!issue.has("pull_request") && issue.path("title").asText().equals(getTitle())) {
+          return issue.path("number").asText();
+        }
+      }
+    }
+  }
+
+  private String createIssue(String path, Map<String, String> issue) throws IOException {
+    return client.send("POST", path, issue).body().path("number").asText();
+  }
+
+  private String renderSummary(ValidationResult result) throws IOException {
+    StringBuilder sb = new StringBuilder();
+
+    Markdown.message(sb, profile.getStyleFeedback().getFeedbackMessage());
+
+    if (result.getError() == null) {
+      ValidationMarkdown.scoreTable(sb, result, profile.getCategoryConfigs());
+    } else {
+      Markdown.message(sb, profile.getStyleFeedback().getFeedbackError());
+    }
+
+    return sb.toString();
+  }
+
+  private String render(ValidationResult result) throws IOException {
+    StringBuilder sb = new StringBuilder();
+
+    Markdown.message(sb, profile.getStyleFeedback().getFeedbackMessage());
+
+    if (result.getError() == null) {
+      ValidationMarkdown.scoreTable(sb, result, profile.getCategoryConfigs());
+      feedback(sb, result, profile.getCategoryConfigs());
+    } else {
+      Markdown.message(sb, profile.getStyleFeedback().getFeedbackError());
+    }
+
+    Markdown.footer(sb, result.getRepo());
+
+    return sb.toString();
+  }
+
+  private void feedback(StringBuilder sb, ValidationResult result, List<CategoryConfig> configs) {
+    boolean generatedHeader = false;
+
+    for (CategoryConfig config : configs) {
+      List<Violation> examples =
+          result.getViolations().getCategoryExamples(config.getCategory(), config.getExamples());
+
+      if (examples.isEmpty()) {
+        continue;
+      }
+
+      if (!generatedHeader) {
+        Markdown.heading(sb, "Feedback", 2);
+        generatedHeader = true;
+      }
+
+      Markdown.heading(sb, config.getCategory().toString(), 3);
+
+      for (Violation example : examples) {
+        Repo repo = result.getRepo();
+        Path relative =
+            repo.getDir().toAbsolutePath().relativize(example.getPath().toAbsolutePath());
+
+        String url = repo.getFileLineUrl(relative, example.getLine());
+
+        if (example.getEndLine() != -1) {
+          url = repo.getFileRangeUrl(relative, example.getLine(), example.getEndLine());
+        }
+
+        sb.append(example.getMessage()).append("\n").append(url).append("\n\n");
+      }
+    }
+  }
+}
@@ -0,0 +1,299 @@
+package gradestyle.github;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import gradestyle.metrics.GithubRequestEvent;
+import gradestyle.util.Hash;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GithubClient {
+  public record Response(int status, HttpHeaders headers, JsonNode body) {}
+
+  private record Cached(String etag, String body) {}
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private HttpClient http = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+  private String api;
+
+  private String token;
+
+  private int retries;
+
+  private Path cache;
+
+  private AtomicInteger requests = new AtomicInteger();
+
+  private AtomicInteger cacheHits = new AtomicInteger();
+
+  // Shared by every thread, once the rate limit is used up all requests wait for its reset.
+  private volatile long pausedUntil;
+
+  public GithubClient(String api, String token, int retries, Path cache) {
+    this.api = api.endsWith("/") ? api.substring(0, api.length() - 1) : api;
+    this.token = token;
+    this.retries = retries;
+    this.cache = cache;
+  }
+
+  public int getRequests() {
+    return requests.get();
+  }
+
+  // Conditional requests answered with 304 Not Modified, which do not count against the limit.
+  public int getCacheHits() {
+    return cacheHits.get();
+  }
+
+  public Response get(String path) throws IOException {
+    return send("GET", path, null);
+  }
+
+  public Response send(String method, String path, Object body) throws IOException {
+    Cached cached = method.equals("GET") ? readCache(path) : null;
+
+    // A POST that failed after being sent may have created something, e.g. an issue.
+    boolean idempotent = !method.equals("POST");
+
+    for (int attempt = 0; ; attempt++) {
+      long wait;
+
+      try {
+        pause(pausedUntil - System.currentTimeMillis());
+
+        HttpRequest request = request(method, path, body, cached);
+        requests.incrementAndGet();
+
+        GithubRequestEvent event = new GithubRequestEvent();
+        event.begin();
+
+        HttpResponse<String> response = http.send(request, BodyHandlers.ofString());
+
+        event.end();
+
+        if (event.shouldCommit()) {
+          event.method = method;
+          event.path = path;
+          event.status = response.statusCode();
+          event.cacheHit = response.statusCode() == 304 && cached != null;
+          event.attempt = attempt;
+          event.commit();
+        }
+
+        if (response.statusCode() == 304 && cached != null) {
+          cacheHits.incrementAndGet();
+          return new Response(200, response.headers(), MAPPER.readTree(cached.body()));
+        }
+
+        wait = getRetryWait(response, attempt, idempotent);
+
+        if (wait < 0) {
+          writeCache(method, path, response);
+          return toResponse(method, path, response);
+        }
+
+        if (attempt == retries) {
+          throw new GithubException(method, path, response.statusCode(), response.body());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (InterruptedIOException e) {
+        throw e;
+      } catch (IOException e) {
+        boolean unsent = e instanceof ConnectException || e instanceof HttpConnectTimeoutException;
+
+        if (attempt == retries || (!idempotent && !unsent)) {
+          throw e;
+        }
+
+        wait = 1000L << attempt;
+      }
+
+      pause(wait);
+    }
+  }
+
+  private HttpRequest request(String method, String path, Object body, Cached cached)
+      throws IOException {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(api + path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/vnd.github+json");
+
+    if (token != null) {
+      builder.header("Authorization", "Bearer " + token);
+    }
+
+    if (cached != null) {
+      builder.header("If-None-Match", cached.etag());
+    }
+
+    if (body == null) {
+      return builder.method(method, BodyPublishers.noBody()).build();
+    }
+
+    return builder
+        .header("Content-Type", "application/json")
+        .method(method, BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+        .build();
+  }
+
+  // How long to wait before retrying, or -1 if the response should not be retried.
+  private long getRetryWait(HttpResponse<String> response, int attempt, boolean idempotent) {
+    int status = response.statusCode();
+    Optional<String> retryAfter = response.headers().firstValue("retry-after");
+    boolean exhausted =
+        response.headers().firstValue("x-ratelimit-remaining").filter("0"::equals).isPresent();
+    long reset = parseReset(response.headers().firstValue("x-ratelimit-reset"));
+
+    if (exhausted && reset > 0) {
+      pausedUntil = Math.max(pausedUntil, reset);
+    }
+
+    // Rate limited requests were not processed, so even a POST can be sent again.
+    boolean limited = status == 429 || (status == 403 && (exhausted || retryAfter.isPresent()));
+
+    if (!limited && !(idempotent && status >= 500)) {
+      return -1;
+    }
+
+    long after = parseRetryAfter(retryAfter);
+
+    if (after >= 0) {
+      return after;
+    }
+
+    if (status == 403 && exhausted && reset > 0) {
+      // Requests wait for the reset before being sent.
+      return 0;
+    }
+
+    return 1000L << attempt;
+  }
+
+  // The reset time in epoch milliseconds, or -1 if it is missing or malformed.
+  private static long parseReset(Optional<String> reset) {
+    try {
+      return reset.isPresent() ? Long.parseLong(reset.get().trim()) * 1000 : -1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  // Retry-After is either a number of seconds or an HTTP date, -1 if it is missing or malformed.
+  private static long parseRetryAfter(Optional<String> retryAfter) {
+    if (retryAfter.isEmpty()) {
+      return -1;
+    }
+
+    String value = retryAfter.get().trim();
+
+    try {
+      return Math.max(0, Long.parseLong(value) * 1000);
+    } catch (NumberFormatException e) {
+      // Not a number of seconds, try a date.
+    }
+
+    try {
+      ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+      return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+    } catch (DateTimeParseException e) {
+      return -1;
+    }
+  }
+
+  private Response toResponse(String method, String path, HttpResponse<String> response)
+      throws IOException {
+    if (response.statusCode() >= 400) {
+      throw new GithubException(method, path, response.statusCode(), response.body());
+    }
+
+    JsonNode body =
+        response.body().isEmpty() ? MissingNode.getInstance() : MAPPER.readTree(response.body());
+
+    return new Response(response.statusCode(), response.headers(), body);
+  }
+
+  private Path getCacheFile(String path) {
+    // The token is part of the key, as what a request returns depends on who makes it.
+    return cache.resolve(Hash.sha256(token, api + path));
+  }
+
+  private Cached readCache(String path) {
+    if (cache == null || !Files.exists(getCacheFile(path))) {
+      return null;
+    }
+
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(getCacheFile(path)))) {
+      String etag = in.readUTF();
+      String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+
+      return new Cached(etag, body);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private void writeCache(String method, String path, HttpResponse<String> response)
+      throws IOException {
+    Optional<String> etag = response.headers().firstValue("etag");
+
+    if (cache == null || !method.equals("GET") || response.statusCode() != 200 || etag.isEmpty()) {
+      return;
+    }
+
+    Files.createDirectories(cache);
+    Path temp = Files.createTempFile(cache, "response", ".tmp");
+
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+      out.writeUTF(etag.get());
+      out.write(response.body().getBytes(StandardCharsets.UTF_8));
+    }
+
+    Files.move(
+        temp,
+        getCacheFile(path),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void pause(long millis) throws InterruptedIOException {
+    if (millis <= 0) {
+      return;
+    }
+
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+}
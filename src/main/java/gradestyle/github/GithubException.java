@@ -0,0 +1,16 @@
+package gradestyle.github;
+
+import java.io.IOException;
+
+public class GithubException extends IOException {
+  private int status;
+
+  public GithubException(String method, String path, int status, String body) {
+    super(method + " " + path + " returned " + status + ": " + body);
+    this.status = status;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+}
@@ -0,0 +1,22 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.Build")
+@Label("Build Subprocess")
+@Category("GradeStyle")
+public class BuildEvent extends jdk.jfr.Event {
+  @Label("Repo")
+  public String repo;
+
+  @Label("Command")
+  public String command;
+
+  @Label("Exit Code")
+  public int exitCode;
+
+  @Label("Timed Out")
+  public boolean timedOut;
+}
@@ -0,0 +1,19 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.FileParsed")
+@Label("File Parsed")
+@Category("GradeStyle")
+public class FileParsedEvent extends jdk.jfr.Event {
+  @Label("Repo")
+  public String repo;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Successful")
+  public boolean successful;
+}
@@ -0,0 +1,37 @@
+package gradestyle.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+// A JFR recording of the JVM's own events and GradeStyle's, written when the JVM exits.
+public class FlightRecording {
+  public static void start(Path file) {
+    try {
+      Recording recording = new Recording(Configuration.getConfiguration("profile"));
+
+      recording.setName("GradeStyle");
+      recording.setToDisk(true);
+      recording.setDestination(file);
+      recording.start();
+
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(
+                  () -> {
+                    try {
+                      recording.stop();
+                    } catch (IllegalStateException e) {
+                      // Already stopped, and written, by the JVM's own shutdown hook.
+                    }
+                  }));
+
+      System.out.println("Recording to: " + file);
+    } catch (IOException | ParseException e) {
+      System.err.println("Unable to start flight recording.");
+      e.printStackTrace();
+    }
+  }
+}
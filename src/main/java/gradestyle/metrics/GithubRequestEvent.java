@@ -0,0 +1,25 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.GithubRequest")
+@Label("GitHub Request")
+@Category("GradeStyle")
+public class GithubRequestEvent extends jdk.jfr.Event {
+  @Label("Method")
+  public String method;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Status")
+  public int status;
+
+  @Label("Cache Hit")
+  public boolean cacheHit;
+
+  @Label("Attempt")
+  public int attempt;
+}
@@ -0,0 +1,341 @@
+package gradestyle.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+// Time, allocations and counts per (repo, validator, phase), e.g. ("a", "Pmd", "validate").
+public class Metrics {
+  public static final String PROMETHEUS_FILE = "metrics.prom";
+
+  public static final String TIMINGS_FILE = "timings.csv";
+
+  private static final int TOP = 5;
+
+  private static final Metrics instance = new Metrics();
+
+  private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+  private static final Comparator<Key> ORDER =
+      Comparator.comparing(Key::repo).thenComparing(Key::validator).thenComparing(Key::phase);
+
+  private record Key(String repo, String validator, String phase) {}
+
+  private static class Entry {
+    private long spans;
+
+    private long wallNanos;
+
+    private long cpuNanos;
+
+    private long allocatedBytes;
+
+    private Map<String, Long> counts = new TreeMap<>();
+
+    private Map<String, Long> peaks = new TreeMap<>();
+  }
+
+  public class Span implements AutoCloseable {
+    private Key key;
+
+    private long wallStart = System.nanoTime();
+
+    private long cpuStart = getCpuTime();
+
+    private long allocatedStart = getAllocatedBytes();
+
+    private Span(Key key) {
+      this.key = key;
+    }
+
+    @Override
+    public void close() {
+      long wall = System.nanoTime() - wallStart;
+      long cpu = getCpuTime() - cpuStart;
+      long allocated = getAllocatedBytes() - allocatedStart;
+      Entry entry = getEntry(key);
+
+      synchronized (entry) {
+        entry.spans++;
+        entry.wallNanos += wall;
+        entry.cpuNanos += cpu;
+        entry.allocatedBytes += allocated;
+      }
+
+      if (Tracer.get().isEnabled()) {
+        String name = key.validator().isEmpty() ? key.phase() : key.validator();
+        Tracer.get().record(name, key.phase(), key.repo(), wallStart, wall);
+      }
+    }
+  }
+
+  private Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  public static Metrics get() {
+    return instance;
+  }
+
+  private Metrics() {}
+
+  public Span span(String repo, String validator, String phase) {
+    return new Span(new Key(repo, validator, phase));
+  }
+
+  public void count(String repo, String validator, String phase, String name, long value) {
+    Entry entry = getEntry(new Key(repo, validator, phase));
+
+    synchronized (entry) {
+      entry.counts.merge(name, value, Long::sum);
+    }
+  }
+
+  public void peak(String repo, String validator, String phase, String name, long value) {
+    Entry entry = getEntry(new Key(repo, validator, phase));
+
+    synchronized (entry) {
+      entry.peaks.merge(name, value, Math::max);
+    }
+  }
+
+  // The heap still in use after the last collection, i.e. roughly what is live.
+  public static long getHeapAfterGc() {
+    long used = 0;
+
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      MemoryUsage usage = pool.getCollectionUsage();
+
+      if (pool.getType() == MemoryType.HEAP && usage != null) {
+        used += usage.getUsed();
+      }
+    }
+
+    return used;
+  }
+
+  public void printAllocations() {
+    Map<String, Long> validators = new HashMap<>();
+    Map<String, Long> repos = new HashMap<>();
+
+    for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+      Key key = entry.getKey();
+
+      if (!key.phase().equals("validate")) {
+        continue;
+      }
+
+      long allocated;
+
+      synchronized (entry.getValue()) {
+        allocated = entry.getValue().allocatedBytes;
+      }
+
+      if (key.validator().isEmpty()) {
+        repos.merge(key.repo(), allocated, Long::sum);
+      } else {
+        validators.merge(key.validator(), allocated, Long::sum);
+      }
+    }
+
+    printTop("validators", validators);
+    printTop("repos", repos);
+  }
+
+  private static void printTop(String name, Map<String, Long> allocations) {
+    if (allocations.isEmpty()) {
+      return;
+    }
+
+    System.out.println("Top allocating " + name + ":");
+
+    allocations.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        .limit(TOP)
+        .forEach(
+            entry ->
+                System.out.println(
+                    "  " + entry.getKey() + ": " + entry.getValue() / (1024 * 1024) + " MiB"));
+  }
+
+  public void write(Path dir) throws IOException {
+    Files.createDirectories(dir);
+
+    List<Key> keys = new ArrayList<>(entries.keySet());
+    keys.sort(ORDER);
+
+    writePrometheus(dir.resolve(PROMETHEUS_FILE), keys);
+    writeTimings(dir.resolve(TIMINGS_FILE), keys);
+  }
+
+  private void writePrometheus(Path file, List<Key> keys) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      writeMetric(writer, keys, "spans_total", "counter", "Timed sections.", e -> e.spans);
+      writeMetric(
+          writer, keys, "wall_seconds_total", "counter", "Wall time.", e -> e.wallNanos / 1e9);
+      writeMetric(
+          writer, keys, "cpu_seconds_total", "counter", "CPU time.", e -> e.cpuNanos / 1e9);
+      writeMetric(
+          writer,
+          keys,
+          "allocated_bytes_total",
+          "counter",
+          "Bytes allocated by the thread.",
+          e -> e.allocatedBytes);
+
+      for (String name : getNames(keys, e -> e.counts.keySet())) {
+        writeMetric(
+            writer,
+            keys,
+            name + "_total",
+            "counter",
+            "Counted " + name.replace('_', ' ') + ".",
+            e -> e.counts.get(name));
+      }
+
+      for (String name : getNames(keys, e -> e.peaks.keySet())) {
+        writeMetric(
+            writer,
+            keys,
+            name,
+            "gauge",
+            "Largest " + name.replace('_', ' ') + ".",
+            e -> e.peaks.get(name));
+      }
+    }
+  }
+
+  private void writeMetric(
+      BufferedWriter writer,
+      List<Key> keys,
+      String name,
+      String type,
+      String help,
+      Function<Entry, Number> value)
+      throws IOException {
+    String metric = "gradestyle_" + name;
+
+    writer.write("# HELP " + metric + " " + help + "\n");
+    writer.write("# TYPE " + metric + " " + type + "\n");
+
+    for (Key key : keys) {
+      Entry entry = entries.get(key);
+      Number sample;
+
+      synchronized (entry) {
+        sample = value.apply(entry);
+      }
+
+      if (sample == null) {
+        continue;
+      }
+
+      writer.write(
+          metric
+              + "{repo=\""
+              + escape(key.repo())
+              + "\",validator=\""
+              + escape(key.validator())
+              + "\",phase=\""
+              + escape(key.phase())
+              + "\"} "
+              + sample
+              + "\n");
+    }
+  }
+
+  private void writeTimings(Path file, List<Key> keys) throws IOException {
+    Set<String> counts = getNames(keys, e -> e.counts.keySet());
+    Set<String> peaks = getNames(keys, e -> e.peaks.keySet());
+    List<String> headers =
+        new ArrayList<>(
+            List.of(
+                "Repo",
+                "Validator",
+                "Phase",
+                "Spans",
+                "Wall Seconds",
+                "CPU Seconds",
+                "Allocated Bytes"));
+    headers.addAll(counts);
+    headers.addAll(peaks);
+
+    CSVFormat format = CSVFormat.Builder.create().setHeader(headers.toArray(String[]::new)).build();
+
+    try (CSVPrinter printer = new CSVPrinter(Files.newBufferedWriter(file), format)) {
+      for (Key key : keys) {
+        Entry entry = entries.get(key);
+        List<Object> row = new ArrayList<>(List.of(key.repo(), key.validator(), key.phase()));
+
+        synchronized (entry) {
+          row.add(entry.spans);
+          row.add(entry.wallNanos / 1e9);
+          row.add(entry.cpuNanos / 1e9);
+          row.add(entry.allocatedBytes);
+
+          for (String name : counts) {
+            row.add(entry.counts.getOrDefault(name, 0L));
+          }
+
+          for (String name : peaks) {
+            row.add(entry.peaks.getOrDefault(name, 0L));
+          }
+        }
+
+        printer.printRecord(row);
+      }
+    }
+  }
+
+  private Set<String> getNames(List<Key> keys, Function<Entry, Set<String>> names) {
+    Set<String> all = new TreeSet<>();
+
+    for (Key key : keys) {
+      Entry entry = entries.get(key);
+
+      synchronized (entry) {
+        all.addAll(names.apply(entry));
+      }
+    }
+
+    return all;
+  }
+
+  private Entry getEntry(Key key) {
+    return entries.computeIfAbsent(key, x -> new Entry());
+  }
+
+  private static long getCpuTime() {
+    return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : 0;
+  }
+
+  // Only counts the current thread, work handed to other threads is not included.
+  private static long getAllocatedBytes() {
+    if (threads instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemoryEnabled()) {
+      return bean.getCurrentThreadAllocatedBytes();
+    }
+
+    return 0;
+  }
+
+  private static String escape(String label) {
+    return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
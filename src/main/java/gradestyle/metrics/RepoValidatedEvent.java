@@ -0,0 +1,22 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.RepoValidated")
+@Label("Repo Validated")
+@Category("GradeStyle")
+public class RepoValidatedEvent extends jdk.jfr.Event {
+  @Label("Repo")
+  public String repo;
+
+  @Label("Commit")
+  public String commit;
+
+  @Label("Violations")
+  public int violations;
+
+  @Label("Failed File")
+  public String error;
+}
@@ -0,0 +1,19 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.SymbolResolution")
+@Label("Symbol Resolution")
+@Category("GradeStyle")
+public class SymbolResolutionEvent extends jdk.jfr.Event {
+  @Label("Repo")
+  public String repo;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Violations")
+  public int violations;
+}
@@ -0,0 +1,95 @@
+package gradestyle.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Metrics spans as Chrome trace events, the file opens in chrome://tracing or ui.perfetto.dev.
+public class Tracer {
+  private record Event(
+      String name, String category, String repo, long start, long duration, long thread) {}
+
+  private static final Tracer instance = new Tracer();
+
+  // The latest spans are kept, so long running processes, e.g. the webhook, do not grow forever.
+  private static final int MAX_EVENTS = 100_000;
+
+  private volatile boolean enabled;
+
+  private long origin;
+
+  private Queue<Event> events = new ConcurrentLinkedQueue<>();
+
+  private AtomicInteger size = new AtomicInteger();
+
+  private Map<Long, String> threads = new ConcurrentHashMap<>();
+
+  public static Tracer get() {
+    return instance;
+  }
+
+  private Tracer() {}
+
+  public void enable() {
+    origin = System.nanoTime();
+    enabled = true;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  void record(String name, String category, String repo, long start, long duration) {
+    Thread thread = Thread.currentThread();
+
+    threads.putIfAbsent(thread.getId(), thread.getName());
+    events.add(new Event(name, category, repo, start, duration, thread.getId()));
+
+    if (size.incrementAndGet() > MAX_EVENTS && events.poll() != null) {
+      size.decrementAndGet();
+    }
+  }
+
+  public void write(Path file) throws IOException {
+    List<Map<String, Object>> trace = new ArrayList<>();
+
+    threads.forEach(
+        (id, name) -> {
+          Map<String, Object> event = new LinkedHashMap<>();
+          event.put("name", "thread_name");
+          event.put("ph", "M");
+          event.put("pid", 1);
+          event.put("tid", id);
+          event.put("args", Map.of("name", name));
+          trace.add(event);
+        });
+
+    for (Event span : events) {
+      Map<String, Object> event = new LinkedHashMap<>();
+      event.put("name", span.name());
+      event.put("cat", span.category());
+      event.put("ph", "X");
+      event.put("ts", (span.start() - origin) / 1000.0);
+      event.put("dur", span.duration() / 1000.0);
+      event.put("pid", 1);
+      event.put("tid", span.thread());
+      event.put("args", Map.of("repo", span.repo()));
+      trace.add(event);
+    }
+
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+
+    new ObjectMapper().writeValue(file.toFile(), Map.of("traceEvents", trace));
+  }
+}
@@ -0,0 +1,28 @@
+package gradestyle.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("gradestyle.ValidatorRun")
+@Label("Validator Run")
+@Category("GradeStyle")
+public class ValidatorRunEvent extends jdk.jfr.Event {
+  @Label("Repo")
+  public String repo;
+
+  @Label("Validator")
+  public String validator;
+
+  @Label("Violations")
+  public int violations;
+
+  @Label("Files")
+  public int files;
+
+  @Label("Cache Hits")
+  public int cacheHits;
+
+  @Label("Cache Misses")
+  public int cacheMisses;
+}
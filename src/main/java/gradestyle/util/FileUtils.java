@@ -39,9 +39,13 @@ public class FileUtils {
   }
 
   public static Stream<Path> getFxmlResourceFiles(Path dir) throws IOException {
-    return getFxmlFiles(
-        findFirstMatchingDir(dir, RESOURCES_DIR.toString())
-            .orElseThrow(() -> new IllegalStateException("Resources dir not found")));
+    Optional<Path> resources = findFirstMatchingDir(dir, RESOURCES_DIR.toString());
+
+    if (resources.isEmpty()) {
+      return Stream.empty();
+    }
+
+    return getFxmlFiles(resources.get());
   }
 
   public static Stream<Path> getFxmlFiles(Path dir) throws IOException {
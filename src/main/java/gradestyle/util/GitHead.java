@@ -0,0 +1,78 @@
+package gradestyle.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+
+public class GitHead {
+  // Reads the commit of a repo's HEAD straight from .git, without opening the repository.
+  public static String resolve(Path dir) {
+    Path gitDir = dir.resolve(Constants.DOT_GIT);
+
+    try {
+      if (Files.isDirectory(gitDir)) {
+        String head = Files.readString(gitDir.resolve(Constants.HEAD)).trim();
+
+        if (!head.startsWith("ref: ")) {
+          return ObjectId.isId(head) ? head : null;
+        }
+
+        String commit = resolveRef(gitDir, head.substring("ref: ".length()));
+
+        if (commit != null) {
+          return commit;
+        }
+      }
+    } catch (IOException e) {
+      // E.g. a ref being rewritten, JGit reads it again below, with its own locking and retries.
+    }
+
+    // Worktrees, submodules and unusual layouts are left to JGit.
+    return resolveWithJgit(dir);
+  }
+
+  private static String resolveRef(Path gitDir, String ref) throws IOException {
+    Path loose = gitDir.resolve(ref);
+
+    if (Files.isRegularFile(loose)) {
+      String commit = Files.readString(loose).trim();
+      return ObjectId.isId(commit) ? commit : null;
+    }
+
+    Path packed = gitDir.resolve(Constants.PACKED_REFS);
+
+    if (!Files.isRegularFile(packed)) {
+      return null;
+    }
+
+    List<String> lines = Files.readAllLines(packed);
+
+    for (String line : lines) {
+      if (line.startsWith("#") || line.startsWith("^")) {
+        continue;
+      }
+
+      String[] parts = line.split(" ", 2);
+
+      if (parts.length == 2 && parts[1].equals(ref) && ObjectId.isId(parts[0])) {
+        return parts[0];
+      }
+    }
+
+    return null;
+  }
+
+  private static String resolveWithJgit(Path dir) {
+    try (Git git = Git.open(dir.toFile())) {
+      ObjectId head = git.getRepository().resolve(Constants.HEAD);
+
+      return head != null ? head.getName() : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+}
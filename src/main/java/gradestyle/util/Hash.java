@@ -0,0 +1,30 @@
+package gradestyle.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class Hash {
+  public static String sha256(Object... parts) {
+    MessageDigest digest;
+
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+
+    for (Object part : parts) {
+      if (part instanceof byte[] bytes) {
+        digest.update(bytes);
+      } else {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+      }
+
+      digest.update((byte) 0);
+    }
+
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
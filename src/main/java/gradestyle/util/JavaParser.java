@@ -1,6 +1,7 @@
 package gradestyle.util;
 
 import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
@@ -23,7 +24,7 @@ public class JavaParser {
     }
 
     CombinedTypeSolver typeSolver = new CombinedTypeSolver();
-    typeSolver.add(new ReflectionTypeSolver());
+    typeSolver.add(getJdkTypeSolver());
     typeSolver.add(javaParserTypeSolver);
 
     // Now set the resolver
@@ -32,4 +33,14 @@ public class JavaParser {
 
     return new com.github.javaparser.JavaParser(config);
   }
+
+  private static TypeSolver getJdkTypeSolver() {
+    JdkIndex index = JdkIndex.get();
+
+    if (index == null) {
+      return new ReflectionTypeSolver();
+    }
+
+    return new JdkTypeSolver(index);
+  }
 }
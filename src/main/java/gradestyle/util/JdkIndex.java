@@ -0,0 +1,138 @@
+package gradestyle.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+public class JdkIndex {
+  private static final Path CACHE_DIR = Path.of(System.getProperty("user.dir"), "cache");
+
+  private static final String VERSION = System.getProperty("java.runtime.version");
+
+  private static JdkIndex instance;
+
+  private static boolean failed;
+
+  public static synchronized JdkIndex get() {
+    if (instance == null && !failed) {
+      try {
+        instance = new JdkIndex(CACHE_DIR.resolve("jdk-" + VERSION + ".index"));
+      } catch (IOException e) {
+        System.err.println("Unable to index the JDK, falling back to reflection.");
+        e.printStackTrace();
+        failed = true;
+      }
+    }
+
+    return instance;
+  }
+
+  // Canonical name (e.g. java.util.Map.Entry) -> binary name (e.g. java.util.Map$Entry).
+  private Map<String, String> types = new HashMap<>();
+
+  // Reads class files as bytes, the classes themselves are never loaded.
+  private ClassPool pool = new ClassPool(true);
+
+  private JdkIndex(Path file) throws IOException {
+    List<String> names = Files.exists(file) ? readIndex(file) : null;
+
+    if (names == null) {
+      names = buildIndex();
+      writeIndex(file, names);
+    }
+
+    for (String name : names) {
+      types.put(name.replace('$', '.'), name);
+    }
+  }
+
+  public String getBinaryName(String name) {
+    return types.get(name);
+  }
+
+  public synchronized CtClass getClass(String binaryName) {
+    try {
+      return pool.get(binaryName);
+    } catch (NotFoundException e) {
+      return null;
+    }
+  }
+
+  private List<String> readIndex(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file);
+
+    if (lines.isEmpty() || !lines.get(0).equals("# " + VERSION)) {
+      return null;
+    }
+
+    return lines.subList(1, lines.size());
+  }
+
+  private void writeIndex(Path file, List<String> names) throws IOException {
+    Files.createDirectories(file.getParent());
+    Path temp = Files.createTempFile(file.getParent(), "jdk", ".index");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+      writer.append("# ").append(VERSION).append("\n");
+
+      for (String name : names) {
+        writer.append(name).append("\n");
+      }
+    }
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private List<String> buildIndex() throws IOException {
+    FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+
+    try (Stream<Path> modules = Files.list(jrt.getPath("/modules"))) {
+      return modules
+          .flatMap(JdkIndex::getClassNames)
+          .filter(name -> name.startsWith("java.") || name.startsWith("javax."))
+          .filter(JdkIndex::isNamedType)
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static Stream<String> getClassNames(Path module) {
+    try {
+      return Files.walk(module)
+          .filter(Files::isRegularFile)
+          .map(module::relativize)
+          .map(Path::toString)
+          .filter(path -> path.endsWith(".class"))
+          .map(path -> path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static boolean isNamedType(String name) {
+    if (name.endsWith("module-info") || name.endsWith("package-info")) {
+      return false;
+    }
+
+    // Skip anonymous and local classes, e.g. Foo$1 and Foo$1Bar.
+    for (String part : name.split("\\$")) {
+      if (!part.isEmpty() && Character.isDigit(part.charAt(0))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,66 @@
+package gradestyle.util;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javassist.CtClass;
+
+public class JdkTypeSolver implements TypeSolver {
+  private JdkIndex index;
+
+  private TypeSolver parent;
+
+  private Map<String, ResolvedReferenceTypeDeclaration> declarations = new HashMap<>();
+
+  public JdkTypeSolver(JdkIndex index) {
+    this.index = index;
+  }
+
+  @Override
+  public TypeSolver getParent() {
+    return parent;
+  }
+
+  @Override
+  public void setParent(TypeSolver parent) {
+    Objects.requireNonNull(parent);
+
+    if (this.parent != null) {
+      throw new IllegalStateException("This TypeSolver already has a parent.");
+    }
+
+    if (parent == this) {
+      throw new IllegalStateException("The parent of this TypeSolver cannot be itself.");
+    }
+
+    this.parent = parent;
+  }
+
+  @Override
+  public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+    String binaryName = index.getBinaryName(name);
+
+    if (binaryName == null) {
+      return SymbolReference.unsolved();
+    }
+
+    ResolvedReferenceTypeDeclaration declaration = declarations.get(binaryName);
+
+    if (declaration == null) {
+      CtClass ctClass = index.getClass(binaryName);
+
+      if (ctClass == null) {
+        return SymbolReference.unsolved();
+      }
+
+      declaration = JavassistFactory.toTypeDeclaration(ctClass, getRoot());
+      declarations.put(binaryName, declaration);
+    }
+
+    return SymbolReference.solved(declaration);
+  }
+}
@@ -20,12 +20,14 @@ import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
 import gradestyle.Repo;
 import gradestyle.config.CategoryConfig;
+import gradestyle.metrics.Metrics;
 import gradestyle.util.FileUtils;
 import gradestyle.util.JavaParser;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,7 +69,7 @@ public enum Category {
           score = getCategoryAbsoluteScore(result, config);
           break;
         case RELATIVE:
-          score = getCategoryRelativeScore(result, config);
+          score = getCategoryRelativeScore(result, config, configs);
           break;
         default:
           throw new IllegalArgumentException("Unknown category config mode: " + config.getMode());
@@ -79,15 +81,42 @@ public enum Category {
     return categoryScores;
   }
 
+  public static Map<Category, Long> getNormalisations(
+      ValidationResult result, List<CategoryConfig> configs) throws IOException {
+    Map<Category, Long> normalisations = result.getNormalisations();
+    List<Category> missing =
+        configs.stream()
+            .map(CategoryConfig::getCategory)
+            .filter(category -> category != Clones)
+            .filter(category -> !normalisations.containsKey(category))
+            .toList();
+
+    if (!missing.isEmpty()) {
+      Repo repo = result.getRepo();
+
+      try (Metrics.Span span = Metrics.get().span(repo.getName(), "", "normalisation")) {
+        normalisations.putAll(getNormalisations(repo, missing));
+      }
+    }
+
+    return normalisations;
+  }
+
   private static int getCategoryAbsoluteScore(ValidationResult result, CategoryConfig config) {
     int count = config.getCategory().getViolationTotal(result.getViolations());
     return getScore(count, config.getScores());
   }
 
-  private static int getCategoryRelativeScore(ValidationResult result, CategoryConfig config)
+  private static int getCategoryRelativeScore(
+      ValidationResult result, CategoryConfig config, List<CategoryConfig> configs)
       throws IOException {
     int count = config.getCategory().getViolationTotal(result.getViolations());
-    long normalisation = config.getCategory().getNormalisation(result.getRepo());
+    Long normalisation = getNormalisations(result, configs).get(config.getCategory());
+
+    if (normalisation == null) {
+      throw new IllegalArgumentException("Unknown category: " + config.getCategory());
+    }
+
     float percentage = normalisation != 0 ? ((float) count / normalisation * 100) : 0;
 
     return getScore((int) percentage, config.getScores());
@@ -103,20 +132,22 @@ public enum Category {
     return scores.size() - index;
   }
 
-  private int getViolationTotal(Violations violations) {
-    return getTypes().stream()
-        .map(type -> violations.filterByType(type))
-        .map(Violations::getViolations)
-        .mapToInt(List::size)
-        .sum();
-  }
+  // Parses each file once and counts for every category at the same time.
+  private static Map<Category, Long> getNormalisations(Repo repo, List<Category> categories)
+      throws IOException {
+    Map<Category, Long> normalisations = new EnumMap<>(Category.class);
 
-  private long getNormalisation(Repo repo) throws IOException {
-    if (this == JavaFX) {
-      return FileUtils.getFxmlFiles(repo.getDir()).count();
+    for (Category category : categories) {
+      normalisations.put(category, 0L);
     }
 
-    long normalisation = 0;
+    if (normalisations.containsKey(JavaFX)) {
+      normalisations.put(JavaFX, FileUtils.getFxmlFiles(repo.getDir()).count());
+    }
+
+    if (normalisations.keySet().stream().allMatch(category -> category == JavaFX)) {
+      return normalisations;
+    }
 
     com.github.javaparser.JavaParser parser = JavaParser.get(repo);
 
@@ -129,83 +160,81 @@ public enum Category {
 
       CompilationUnit cu = result.getResult().get();
 
-      switch (this) {
-        case Formatting:
-        case Commenting:
-        case Useless:
-          normalisation += cu.getRange().get().getLineCount();
-          break;
-        case ClassNames:
-          normalisation += classCounter(cu);
-          break;
-        case MethodNames:
-          normalisation += methodCounter(cu);
-          break;
-        case VariableNames:
-          normalisation += variableCounter(cu);
-          break;
-        case PackageNames:
-          normalisation += packageCounter(cu);
-          break;
-        case PrivateInstances:
-          normalisation += instanceFieldCounter(cu);
-          break;
-        case Ordering:
-          normalisation +=
-              staticFieldCounter(cu)
-                  + instanceFieldCounter(cu)
-                  + constructorCounter(cu)
-                  + methodCounter(cu);
-          break;
-        case JavadocClass:
-          normalisation += cu.findAll(ClassOrInterfaceDeclaration.class).stream().count();
-          break;
-
-        case JavadocMethod:
-          normalisation += cu.findAll(MethodDeclaration.class).stream().count();
-          break;
-
-        case JavadocField:
-          normalisation += cu.findAll(FieldDeclaration.class).stream().count();
-          break;
-
-        case JavadocConstructor:
-          normalisation += cu.findAll(ConstructorDeclaration.class).stream().count();
-          break;
-
-        case Javadoc:
-          normalisation +=
-              cu.getAllComments().stream()
-                  .filter(Comment::isJavadocComment)
-                  .map(Comment::getRange)
-                  .map(Optional::get)
-                  .mapToInt(Range::getLineCount)
-                  .sum();
-          break;
-
-        case MissingOverride:
-        case FinalizeOverride:
-          normalisation += methodCounter(cu);
-          break;
-
-        case UnqualifiedStaticAccess:
-          normalisation += staticMemberAccessCount(cu);
+      for (Category category : categories) {
+        if (category != JavaFX) {
+          normalisations.merge(category, category.getNormalisation(cu), Long::sum);
+        }
+      }
+    }
 
-          break;
-        case EmptyCatchBlock:
-          normalisation += tryCatchCounter(cu);
-          break;
+    return normalisations;
+  }
 
-        case StringConcatenation:
-          normalisation += loopCounter(cu);
-          break;
+  private int getViolationTotal(Violations violations) {
+    return getTypes().stream()
+        .map(type -> violations.filterByType(type))
+        .map(Violations::getViolations)
+        .mapToInt(List::size)
+        .sum();
+  }
 
-        default:
-          throw new IllegalArgumentException("Unknown category: " + this);
-      }
+  long getNormalisation(CompilationUnit cu) {
+    switch (this) {
+      case Formatting:
+      case Commenting:
+      case Useless:
+        return cu.getRange().get().getLineCount();
+      case ClassNames:
+        return classCounter(cu);
+      case MethodNames:
+        return methodCounter(cu);
+      case VariableNames:
+        return variableCounter(cu);
+      case PackageNames:
+        return packageCounter(cu);
+      case PrivateInstances:
+        return instanceFieldCounter(cu);
+      case Ordering:
+        return staticFieldCounter(cu)
+            + instanceFieldCounter(cu)
+            + constructorCounter(cu)
+            + methodCounter(cu);
+      case JavadocClass:
+        return cu.findAll(ClassOrInterfaceDeclaration.class).stream().count();
+
+      case JavadocMethod:
+        return cu.findAll(MethodDeclaration.class).stream().count();
+
+      case JavadocField:
+        return cu.findAll(FieldDeclaration.class).stream().count();
+
+      case JavadocConstructor:
+        return cu.findAll(ConstructorDeclaration.class).stream().count();
+
+      case Javadoc:
+        return cu.getAllComments().stream()
+            .filter(Comment::isJavadocComment)
+            .map(Comment::getRange)
+            .map(Optional::get)
+            .mapToInt(Range::getLineCount)
+            .sum();
+
+      case MissingOverride:
+      case FinalizeOverride:
+        return methodCounter(cu);
+
+      case UnqualifiedStaticAccess:
+        return staticMemberAccessCount(cu);
+
+      case EmptyCatchBlock:
+        return tryCatchCounter(cu);
+
+      case StringConcatenation:
+        return loopCounter(cu);
+
+      default:
+        throw new IllegalArgumentException("Unknown category: " + this);
     }
-
-    return normalisation;
   }
 
   private int classCounter(CompilationUnit cu) {
@@ -0,0 +1,148 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public class Checkpoint {
+  private record Entry(String commit, byte[] result) {}
+
+  private static final String MAGIC = "gradestyle-checkpoint";
+
+  private static final int VERSION = 1;
+
+  private String fingerprint;
+
+  private Map<String, Entry> entries = new HashMap<>();
+
+  private FileChannel channel;
+
+  public Checkpoint(Path file, String fingerprint) throws IOException {
+    this.fingerprint = fingerprint;
+
+    long end = Files.exists(file) ? load(file) : 0;
+
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+    // A record cut short by a crash is dropped, so new records follow the last complete one.
+    channel.truncate(end);
+    channel.position(end);
+
+    if (end == 0) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+
+      out.writeUTF(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(ValidationResultCodec.VERSION);
+      out.flush();
+
+      write(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+  }
+
+  public ValidationResult restore(Repo repo) throws IOException {
+    Entry entry = entries.get(repo.getName());
+
+    if (repo.getCommit() == null || entry == null || !repo.getCommit().equals(entry.commit())) {
+      return null;
+    }
+
+    return ValidationResultCodec.read(
+        new DataInputStream(new ByteArrayInputStream(entry.result())), repo);
+  }
+
+  public void record(ValidationResult result) throws IOException {
+    Repo repo = result.getRepo();
+
+    // Results missing skipped files are validated again when resuming.
+    if (repo.getCommit() == null || !result.getSkips().isEmpty()) {
+      return;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    out.writeUTF(repo.getName());
+    out.writeUTF(repo.getCommit());
+    out.writeUTF(fingerprint);
+    ValidationResultCodec.write(out, result);
+    out.flush();
+
+    ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+    record.putInt(bytes.size()).put(bytes.toByteArray()).flip();
+
+    write(record);
+  }
+
+  private void write(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+
+    channel.force(true);
+  }
+
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  // Returns the length of the journal up to its last complete record, or 0 to start it again.
+  private long load(Path file) throws IOException {
+    long size = Files.size(file);
+    long end = 0;
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (!in.readUTF().equals(MAGIC)
+          || in.readInt() != VERSION
+          || in.readInt() != ValidationResultCodec.VERSION) {
+        System.err.println("Ignoring checkpoint in an unsupported format: " + file);
+        return 0;
+      }
+
+      end = MAGIC.length() + 2 + 2 * Integer.BYTES;
+
+      while (true) {
+        int length = in.readInt();
+
+        if (length < 0 || length > size - end - Integer.BYTES) {
+          break;
+        }
+
+        byte[] record = new byte[length];
+        in.readFully(record);
+        end += Integer.BYTES + length;
+
+        try {
+          DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(record));
+          String name = recordIn.readUTF();
+          String commit = recordIn.readUTF();
+
+          if (recordIn.readUTF().equals(fingerprint)) {
+            entries.put(name, new Entry(commit, recordIn.readAllBytes()));
+          }
+        } catch (IOException e) {
+          System.err.println("Ignoring a corrupt checkpoint record in: " + file);
+        }
+      }
+    } catch (EOFException | UTFDataFormatException e) {
+      // End of the journal, or a record cut short by a crash.
+    }
+
+    return end;
+  }
+}
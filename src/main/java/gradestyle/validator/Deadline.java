@@ -0,0 +1,29 @@
+package gradestyle.validator;
+
+public class Deadline {
+  public static class ExceededException extends RuntimeException {}
+
+  private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+  // A budget of 0 or less never runs out.
+  public static void start(long seconds) {
+    if (seconds > 0) {
+      deadline.set(System.nanoTime() + seconds * 1_000_000_000L);
+    } else {
+      deadline.remove();
+    }
+  }
+
+  public static void clear() {
+    deadline.remove();
+  }
+
+  // Called by long running checks, so they stop once their budget is spent or they are cancelled.
+  public static void check() {
+    Long end = deadline.get();
+
+    if (Thread.currentThread().isInterrupted() || (end != null && System.nanoTime() - end > 0)) {
+      throw new ExceededException();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface FileValidator extends Validator {
+  // Changes whenever the checks or their configuration change.
+  String getFingerprint();
+
+  // Runs the checks whose violations in a file depend only on that file's path and content on the
+  // given files, and in the same pass the remaining checks, which need the whole repo.
+  Violations validateFiles(Repo repo, List<Path> files) throws ValidatorException;
+
+  // Violations of the checks that need the whole repo are not cached per file.
+  default boolean isRepoCheck(Type type) {
+    return false;
+  }
+}
@@ -0,0 +1,125 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import gradestyle.config.CategoryConfig;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ResultStore {
+  public record Contents(List<Category> categories, List<ValidationResult> results) {}
+
+  private static final String MAGIC = "gradestyle-store";
+
+  private static final int VERSION = 1;
+
+  public static Contents read(Path file) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+      if (!in.readUTF().equals(MAGIC)) {
+        throw new IOException("Not a results store: " + file);
+      }
+
+      int version = in.readInt();
+      int codec = in.readInt();
+
+      if (version != VERSION || codec != ValidationResultCodec.VERSION) {
+        throw new IOException("Unsupported results store version: " + file);
+      }
+
+      List<Category> categories = new ArrayList<>();
+      int size = in.readInt();
+
+      for (int i = 0; i < size; i++) {
+        categories.add(Category.valueOf(in.readUTF()));
+      }
+
+      List<ValidationResult> results = new ArrayList<>();
+
+      while (in.readBoolean()) {
+        Path dir = Path.of(in.readUTF());
+        String org = readNullable(in);
+        String name = in.readUTF();
+        String commit = readNullable(in);
+
+        results.add(ValidationResultCodec.read(in, new Repo(dir, org, name, commit)));
+      }
+
+      return new Contents(categories, results);
+    }
+  }
+
+  private Path file;
+
+  private Path temp;
+
+  private List<CategoryConfig> configs;
+
+  private DataOutputStream out;
+
+  public ResultStore(Path file, List<CategoryConfig> configs) throws IOException {
+    this.file = file.toAbsolutePath();
+    this.configs = configs;
+
+    // Written next to the store and moved into place on close, so a failed run keeps the old one.
+    Files.createDirectories(this.file.getParent());
+    this.temp = Files.createTempFile(this.file.getParent(), "store", ".tmp");
+    this.out =
+        new DataOutputStream(
+            new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))));
+
+    out.writeUTF(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(ValidationResultCodec.VERSION);
+    out.writeInt(configs.size());
+
+    for (CategoryConfig config : configs) {
+      out.writeUTF(config.getCategory().name());
+    }
+  }
+
+  public void write(ValidationResult result) throws IOException {
+    if (result.getError() == null) {
+      // Store the counts for every analysed category, so switching one to relative needs no repo.
+      Category.getNormalisations(result, configs);
+    }
+
+    Repo repo = result.getRepo();
+
+    out.writeBoolean(true);
+    out.writeUTF(repo.getDir().toAbsolutePath().toString());
+    writeNullable(out, repo.getOrg());
+    out.writeUTF(repo.getName());
+    writeNullable(out, repo.getCommit());
+    ValidationResultCodec.write(out, result);
+  }
+
+  public void close() throws IOException {
+    out.writeBoolean(false);
+    out.close();
+
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void writeNullable(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
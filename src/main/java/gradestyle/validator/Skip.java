@@ -0,0 +1,6 @@
+package gradestyle.validator;
+
+import java.nio.file.Path;
+
+// A file, or a whole validator if file is null, that ran out of its time budget.
+public record Skip(String validator, Path file, String reason) {}
@@ -2,15 +2,27 @@ package gradestyle.validator;
 
 import gradestyle.Repo;
 import gradestyle.config.Config;
+import gradestyle.metrics.Metrics;
+import gradestyle.metrics.RepoValidatedEvent;
+import gradestyle.metrics.ValidatorRunEvent;
 import gradestyle.util.FileUtils;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 public class Validation {
@@ -19,9 +31,34 @@ public class Validation {
   private Config config;
   private Map<String, List<String>> templateRepoLines;
 
+  private ViolationCache cache;
+
+  private int skippedFiles;
+
+  private int skippedValidators;
+
+  private ExecutorService executor;
+
+  // The last run of each validator, which may still be going if it was abandoned over its budget.
+  private Map<Validator, CountDownLatch> running = new HashMap<>();
+
   public Validation(Validator[] validators, Config config) throws ValidatorException {
     this.validators = validators;
     this.config = config;
+
+    // A thread per validator is enough, as each validator only runs once at a time. Daemon
+    // threads, so validators abandoned over their budget do not keep the run alive.
+    this.executor =
+        Executors.newFixedThreadPool(
+            validators.length,
+            runnable -> {
+              Thread thread = new Thread(runnable, "validator");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    this.cache = new ViolationCache(config.getCache());
+
     try {
       this.templateRepoLines = readTemplateRepoLines();
     } catch (IOException e) {
@@ -32,37 +69,78 @@ public class Validation {
   public ValidationResult validate(Repo repo) throws ValidatorException {
 
     List<Violation> violations = new ArrayList<>();
+    List<Skip> skips = new ArrayList<>();
+    Map<String, Duration> times = new LinkedHashMap<>();
     Path error = null;
 
     System.out.print("Validating " + repo.getName() + "... ");
     boolean success = true;
+    Metrics metrics = Metrics.get();
+
+    RepoValidatedEvent repoEvent = new RepoValidatedEvent();
+    repoEvent.begin();
 
-    for (Validator validator : validators) {
-      try {
-        for (Violation violation : validator.validate(repo).getViolations()) {
-          if (notInTemplate(violation, repo, templateRepoLines)) {
-            violations.add(violation);
+    // Allocations of the whole repo, including comparing against the template.
+    try (Metrics.Span repoSpan = metrics.span(repo.getName(), "", "validate")) {
+      for (Validator validator : validators) {
+        String name = validator.getClass().getSimpleName();
+        long start = System.nanoTime();
+        int reported = 0;
+        ViolationCache.Outcome outcome = null;
+
+        ValidatorRunEvent event = new ValidatorRunEvent();
+        event.begin();
+
+        try {
+          outcome = validateWithinBudget(repo, validator, skips);
+
+          if (outcome == null) {
+            continue;
           }
-        }
-      } catch (ValidatorException e) {
-        error = e.getPath();
 
-        if (error == null) {
-          throw e;
-        }
+          Violations found = outcome.violations();
 
-        System.err.println(
-            "Style validation of \""
-                + repo.getName()
-                + "\" using \""
-                + validator.getClass().getSimpleName()
-                + "\" failed @ \""
-                + error
-                + "\".");
-        success = false;
-        break;
-      } catch (IOException e) {
-        throw new ValidatorException(e);
+          skips.addAll(found.getSkips());
+          reported = found.getViolations().size();
+          metrics.count(repo.getName(), name, "validate", "violations", reported);
+
+          int before = violations.size();
+
+          for (Violation violation : found.getViolations()) {
+            if (notInTemplate(violation, repo, templateRepoLines)) {
+              violations.add(violation);
+            }
+          }
+
+          int retained = violations.size() - before;
+          metrics.count(repo.getName(), name, "validate", "retained_violations", retained);
+        } catch (ValidatorException e) {
+          error = e.getPath();
+
+          if (error == null) {
+            throw e;
+          }
+
+          System.err.println(
+              "Style validation of \""
+                  + repo.getName()
+                  + "\" using \""
+                  + name
+                  + "\" failed @ \""
+                  + error
+                  + "\".");
+          success = false;
+          break;
+        } catch (IOException e) {
+          throw new ValidatorException(e);
+        } finally {
+          times.put(name, Duration.ofNanos(System.nanoTime() - start));
+
+          long heap = Metrics.getHeapAfterGc();
+          metrics.peak(repo.getName(), name, "validate", "heap_after_gc_bytes", heap);
+
+          commit(event, repo, validator, reported, outcome);
+        }
       }
     }
 
@@ -70,10 +148,148 @@ public class Validation {
       System.out.println("done.");
     }
 
-    return new ValidationResult(repo, new Violations(violations), error);
+    ValidationResult result = new ValidationResult(repo, new Violations(violations), error);
+    result.getTimes().putAll(times);
+    result.getSkips().addAll(skips);
+
+    for (Skip skip : skips) {
+      if (skip.file() == null) {
+        skippedValidators++;
+      } else {
+        skippedFiles++;
+      }
+    }
+
+    repoEvent.end();
+
+    if (repoEvent.shouldCommit()) {
+      repoEvent.repo = repo.getName();
+      repoEvent.commit = repo.getCommit();
+      repoEvent.violations = violations.size();
+      repoEvent.error = error != null ? error.toString() : null;
+      repoEvent.commit();
+    }
+
+    return result;
+  }
+
+  private void commit(
+      ValidatorRunEvent event,
+      Repo repo,
+      Validator validator,
+      int violations,
+      ViolationCache.Outcome outcome) {
+    event.end();
+
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.repo = repo.getName();
+    event.validator = validator.getClass().getSimpleName();
+    event.violations = violations;
+
+    if (outcome != null) {
+      event.files = outcome.files();
+      event.cacheHits = outcome.files() - outcome.analysed();
+      event.cacheMisses = outcome.analysed();
+    }
+
+    event.commit();
+  }
+
+  // Runs the validator on its own thread, so it can be given up on once over its budget.
+  private ViolationCache.Outcome validateWithinBudget(
+      Repo repo, Validator validator, List<Skip> skips) throws ValidatorException {
+    long budget = config.getBudgetValidator();
+
+    if (budget <= 0) {
+      return validate(repo, validator);
+    }
+
+    String name = validator.getClass().getSimpleName();
+    Future<ViolationCache.Outcome> future = null;
+
+    try {
+      CountDownLatch previous = running.get(validator);
+
+      // Validators are not thread safe, an abandoned run has to stop before the next one starts.
+      if (previous != null && !previous.await(budget, TimeUnit.SECONDS)) {
+        skips.add(new Skip(name, null, "still running on an earlier repo"));
+        System.err.println(
+            "Skipped " + name + " for " + repo.getName() + ", it is still running on another.");
+        return null;
+      }
+
+      CountDownLatch done = new CountDownLatch(1);
+      running.put(validator, done);
+
+      future =
+          executor.submit(
+              () -> {
+                try {
+                  return validate(repo, validator);
+                } finally {
+                  done.countDown();
+                }
+              });
+
+      return future.get(budget, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      // Checks polling the Deadline stop, the others finish in the background and are ignored.
+      future.cancel(true);
+      skips.add(new Skip(name, null, "exceeded the " + budget + "s validator budget"));
+      System.err.println(
+          "Skipped " + name + " for " + repo.getName() + ", it exceeded its time budget.");
+      return null;
+    } catch (InterruptedException e) {
+      if (future != null) {
+        future.cancel(true);
+      }
+
+      Thread.currentThread().interrupt();
+      throw new ValidatorException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ValidatorException cause) {
+        throw cause;
+      } else if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      } else if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+
+      throw new ValidatorException(e);
+    }
+  }
+
+  private ViolationCache.Outcome validate(Repo repo, Validator validator)
+      throws ValidatorException {
+    String name = validator.getClass().getSimpleName();
+
+    // On the thread running the validator, so its CPU time and allocations are measured.
+    try (Metrics.Span span = Metrics.get().span(repo.getName(), name, "validate")) {
+      if (validator instanceof FileValidator fileValidator) {
+        return cache.validate(repo, fileValidator);
+      }
+
+      return new ViolationCache.Outcome(validator.validate(repo), 0, 0);
+    }
+  }
+
+  public void printStatistics() {
+    cache.printStatistics();
+
+    if (skippedFiles > 0 || skippedValidators > 0) {
+      System.out.println(
+          "Skipped "
+              + skippedFiles
+              + " files and "
+              + skippedValidators
+              + " validator runs that exceeded their time budgets.");
+    }
   }
 
-  private Map<String, List<String>> readTemplateRepoLines() throws IOException {
+  Map<String, List<String>> readTemplateRepoLines() throws IOException {
     Map<String, List<String>> templateRepoLines = new HashMap<>();
 
     if (!config.getTemplateIgnoreViolations()) {
@@ -93,7 +309,7 @@ public class Validation {
     return templateRepoLines;
   }
 
-  private boolean notInTemplate(
+  boolean notInTemplate(
       Violation violation, Repo repo, Map<String, List<String>> templateRepoLines)
       throws IOException {
     if (!config.getTemplateIgnoreViolations()) {
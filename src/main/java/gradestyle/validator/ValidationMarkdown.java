@@ -3,7 +3,7 @@ package gradestyle.validator;
 import gradestyle.Markdown;
 import gradestyle.Repo;
 import gradestyle.config.CategoryConfig;
-import gradestyle.config.Config;
+import gradestyle.config.Profile;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
@@ -14,10 +14,10 @@ import net.steppschuh.markdowngenerator.text.code.Code;
 import net.steppschuh.markdowngenerator.text.emphasis.BoldText;
 
 public class ValidationMarkdown implements Markdown.Writer<ValidationResult> {
-  private Config config;
+  private Profile profile;
 
-  public ValidationMarkdown(Config config) {
-    this.config = config;
+  public ValidationMarkdown(Profile profile) {
+    this.profile = profile;
   }
 
   @Override
@@ -29,14 +29,14 @@ public class ValidationMarkdown implements Markdown.Writer<ValidationResult> {
   public String write(ValidationResult result) throws IOException {
     StringBuilder sb = new StringBuilder();
 
-    Markdown.title(sb, config.getStyleFeedback().getFeedbackTitle());
-    Markdown.message(sb, config.getStyleFeedback().getFeedbackMessage());
+    Markdown.title(sb, profile.getStyleFeedback().getFeedbackTitle());
+    Markdown.message(sb, profile.getStyleFeedback().getFeedbackMessage());
 
     if (result.getError() == null) {
-      scoreTable(sb, result, config.getCategoryConfigs());
-      feedback(sb, result, config.getCategoryConfigs());
+      scoreTable(sb, result, profile.getCategoryConfigs());
+      feedback(sb, result, profile.getCategoryConfigs());
     } else {
-      Markdown.message(sb, config.getStyleFeedback().getFeedbackError());
+      Markdown.message(sb, profile.getStyleFeedback().getFeedbackError());
     }
 
     Markdown.footer(sb, result.getRepo());
@@ -113,7 +113,7 @@ public class ValidationMarkdown implements Markdown.Writer<ValidationResult> {
           file = new Link(file, url);
         }
 
-        sb.append(file).append(": ").append(example.getType().getMessage()).append("\n\n");
+        sb.append(file).append(": ").append(example.getMessage()).append("\n\n");
       }
     }
   }
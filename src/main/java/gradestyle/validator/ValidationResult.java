@@ -2,6 +2,12 @@ package gradestyle.validator;
 
 import gradestyle.Repo;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class ValidationResult {
   private Repo repo;
@@ -10,6 +16,14 @@ public class ValidationResult {
 
   private Path error;
 
+  private Map<Category, Long> normalisations = new EnumMap<>(Category.class);
+
+  // Not stored, results restored from a checkpoint or store have no times.
+  private Map<String, Duration> times = new LinkedHashMap<>();
+
+  // Files and validators that ran out of time, their violations are missing. Not stored either.
+  private List<Skip> skips = new ArrayList<>();
+
   ValidationResult(Repo repo, Violations violations, Path error) {
     this.repo = repo;
     this.violations = violations;
@@ -27,4 +41,16 @@ public class ValidationResult {
   public Path getError() {
     return error;
   }
+
+  public Map<Category, Long> getNormalisations() {
+    return normalisations;
+  }
+
+  public Map<String, Duration> getTimes() {
+    return times;
+  }
+
+  public List<Skip> getSkips() {
+    return skips;
+  }
 }
@@ -0,0 +1,86 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ValidationResultCodec {
+  // Written by the checkpoint and the results store, bumped whenever the layout below changes.
+  public static final int VERSION = 1;
+
+  public static void write(DataOutput out, ValidationResult result) throws IOException {
+    Path dir = result.getRepo().getDir().toAbsolutePath();
+
+    out.writeBoolean(result.getError() != null);
+
+    if (result.getError() != null) {
+      out.writeUTF(result.getError().toString());
+    }
+
+    List<Violation> violations = result.getViolations().getViolations();
+    out.writeInt(violations.size());
+
+    for (Violation violation : violations) {
+      // Paths are stored relative to the repo, so results survive the repos being moved.
+      out.writeUTF(violation.getType().name());
+      out.writeUTF(dir.relativize(violation.getPath().toAbsolutePath()).toString());
+      out.writeInt(violation.getLine());
+      out.writeInt(violation.getEndLine());
+      out.writeInt(violation.getMessageArgs().length);
+
+      for (String arg : violation.getMessageArgs()) {
+        out.writeUTF(arg);
+      }
+    }
+
+    out.writeInt(result.getNormalisations().size());
+
+    for (Map.Entry<Category, Long> normalisation : result.getNormalisations().entrySet()) {
+      out.writeUTF(normalisation.getKey().name());
+      out.writeLong(normalisation.getValue());
+    }
+  }
+
+  public static ValidationResult read(DataInput in, Repo repo) throws IOException {
+    try {
+      return readResult(in, repo);
+    } catch (IllegalArgumentException e) {
+      // An unknown type or category, e.g. one renamed since the result was written.
+      throw new IOException(e);
+    }
+  }
+
+  private static ValidationResult readResult(DataInput in, Repo repo) throws IOException {
+    Path error = in.readBoolean() ? Path.of(in.readUTF()) : null;
+    int size = in.readInt();
+    List<Violation> violations = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      Type type = Type.valueOf(in.readUTF());
+      Path file = repo.getDir().resolve(in.readUTF());
+      int line = in.readInt();
+      int endLine = in.readInt();
+      String[] args = new String[in.readInt()];
+
+      for (int j = 0; j < args.length; j++) {
+        args[j] = in.readUTF();
+      }
+
+      violations.add(new Violation(type, file, line, endLine, args));
+    }
+
+    ValidationResult result = new ValidationResult(repo, new Violations(violations), error);
+    int normalisations = in.readInt();
+
+    for (int i = 0; i < normalisations; i++) {
+      result.getNormalisations().put(Category.valueOf(in.readUTF()), in.readLong());
+    }
+
+    return result;
+  }
+}
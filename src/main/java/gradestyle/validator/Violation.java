@@ -12,6 +12,8 @@ public class Violation {
 
   private int endLine;
 
+  private String[] messageArgs = {};
+
   public Violation(Type type, Path file, int beginLine) {
     this.type = type;
     this.file = file;
@@ -19,6 +21,10 @@ public class Violation {
     this.endLine = -1;
   }
 
+  public Violation(Type type, Path file, int beginLine, String... messageArgs) {
+    this(type, file, beginLine, -1, messageArgs);
+  }
+
   public Violation(Type type, Path file, int beginLine, int endLine) {
     this.type = type;
     this.file = file;
@@ -26,6 +32,11 @@ public class Violation {
     this.endLine = endLine;
   }
 
+  public Violation(Type type, Path file, int beginLine, int endLine, String... messageArgs) {
+    this(type, file, beginLine, endLine);
+    this.messageArgs = messageArgs;
+  }
+
   public Type getType() {
     return type;
   }
@@ -42,6 +53,18 @@ public class Violation {
     return endLine;
   }
 
+  public String[] getMessageArgs() {
+    return messageArgs;
+  }
+
+  public String getMessage() {
+    if (messageArgs.length == 0) {
+      return type.getMessage();
+    }
+
+    return String.format(type.getMessage(), (Object[]) messageArgs);
+  }
+
   @Override
   public boolean equals(Object other) {
     if (other == this) {
@@ -60,6 +83,6 @@ public class Violation {
 
   @Override
   public int hashCode() {
-    return Objects.hash(file, beginLine, endLine);
+    return Objects.hash(type.getMessage(), file, beginLine, endLine);
   }
 }
@@ -0,0 +1,364 @@
+package gradestyle.validator;
+
+import gradestyle.Repo;
+import gradestyle.metrics.Metrics;
+import gradestyle.util.FileUtils;
+import gradestyle.util.Hash;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.text.StringEscapeUtils;
+
+public class ViolationCache {
+  private static final String VERSION = "1";
+
+  // Enough for the distinct files of a large cohort, the webhook keeps the cache for its lifetime.
+  private static final int MEMORY_ENTRIES = 50_000;
+
+  // The files of a repo, and how many of them were not found in the cache.
+  record Outcome(Violations violations, int files, int analysed) {}
+
+  private static class Statistics {
+    private int analysed;
+
+    private long analysedNanos;
+
+    private int memoryHits;
+
+    private int diskHits;
+
+    private long getSavedNanos() {
+      return analysed == 0 ? 0 : analysedNanos / analysed * memoryHits;
+    }
+
+    private void add(Statistics other) {
+      analysed += other.analysed;
+      analysedNanos += other.analysedNanos;
+      memoryHits += other.memoryHits;
+      diskHits += other.diskHits;
+    }
+  }
+
+  private Path dir;
+
+  private String build;
+
+  // A validator over its budget may still be running when the next one starts, so every call
+  // keeps its own state and only the fields below are shared, guarded by this.
+  private Map<String, List<Violation>> memory = Collections.synchronizedMap(lru());
+
+  private Repo indexedRepo;
+
+  private Map<Path, String> fileHashes = Map.of();
+
+  private Set<String> distinctFiles = Collections.newSetFromMap(lru());
+
+  private int files;
+
+  private int distinct;
+
+  private Map<String, Statistics> statistics = new LinkedHashMap<>();
+
+  public ViolationCache(Path dir) {
+    this.dir = dir;
+
+    if (dir != null) {
+      try {
+        this.build = getBuild();
+      } catch (IOException e) {
+        System.err.println("Unable to hash the class path, violations will not be cached on disk.");
+        e.printStackTrace();
+        this.dir = null;
+      }
+    }
+  }
+
+  // Evicts the least recently used entries, so long running processes do not run out of memory.
+  private static <V> Map<String, V> lru() {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > MEMORY_ENTRIES;
+      }
+    };
+  }
+
+  // Hash of the code of GradeStyle and its dependencies, e.g. Checkstyle and PMD, so changing or
+  // upgrading any of them invalidates the cached violations.
+  private static String getBuild() throws IOException {
+    List<String> hashes = new ArrayList<>();
+
+    for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      Path path = Path.of(entry);
+
+      if (Files.isRegularFile(path)) {
+        hashes.add(Hash.sha256(Files.readAllBytes(path)));
+      } else if (Files.isDirectory(path)) {
+        try (Stream<Path> files = Files.walk(path)) {
+          for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+            hashes.add(Hash.sha256(path.relativize(file).toString(), Files.readAllBytes(file)));
+          }
+        }
+      }
+    }
+
+    return Hash.sha256(hashes.toArray());
+  }
+
+  public Outcome validate(Repo repo, FileValidator validator) throws ValidatorException {
+    List<Violation> violations = new ArrayList<>();
+    List<Skip> skips = new ArrayList<>();
+    Statistics stats = new Statistics();
+    Map<Path, String> fileHashes;
+    List<Path> changed = new ArrayList<>();
+
+    try {
+      fileHashes = getFileHashes(repo);
+
+      String name = validator.getClass().getSimpleName();
+      String fingerprint = validator.getClass().getName() + ":" + validator.getFingerprint();
+      Map<Path, String> keys = new LinkedHashMap<>();
+
+      for (Map.Entry<Path, String> entry : fileHashes.entrySet()) {
+        Path file = entry.getKey();
+        String key = Hash.sha256(VERSION, build, fingerprint, entry.getValue());
+        List<Violation> cached = memory.get(key);
+
+        if (cached != null) {
+          stats.memoryHits++;
+        } else if ((cached = read(key)) != null) {
+          stats.diskHits++;
+          memory.put(key, cached);
+        }
+
+        if (cached == null) {
+          keys.put(file, key);
+          changed.add(file);
+        } else {
+          violations.addAll(retarget(cached, file));
+        }
+      }
+
+      Metrics.get().count(repo.getName(), name, "validate", "files", fileHashes.size());
+      Metrics.get().count(repo.getName(), name, "validate", "analysed_files", changed.size());
+
+      // One pass, the checks that need the whole repo run alongside those of the changed files.
+      long start = System.nanoTime();
+      Violations fresh = validator.validateFiles(repo, changed);
+
+      // Cancelled for exceeding its budget, the results are discarded.
+      if (Thread.currentThread().isInterrupted()) {
+        throw new Deadline.ExceededException();
+      }
+
+      Set<Path> skipped = new HashSet<>();
+
+      for (Skip skip : fresh.getSkips()) {
+        if (skip.file() != null) {
+          skipped.add(normalise(skip.file()));
+        }
+
+        skips.add(skip);
+      }
+
+      stats.analysed += changed.size();
+      stats.analysedNanos += System.nanoTime() - start;
+
+      Map<Path, List<Violation>> byFile = new HashMap<>();
+
+      for (Violation violation : fresh.getViolations()) {
+        if (validator.isRepoCheck(violation.getType())) {
+          violations.add(violation);
+          continue;
+        }
+
+        byFile
+            .computeIfAbsent(normalise(violation.getPath()), x -> new ArrayList<>())
+            .add(violation);
+      }
+
+      for (Path file : changed) {
+        List<Violation> fileViolations = byFile.remove(normalise(file));
+
+        if (fileViolations == null) {
+          fileViolations = List.of();
+        }
+
+        // Skipped files have no results to reuse, they are analysed again next time.
+        if (skipped.contains(normalise(file))) {
+          continue;
+        }
+
+        memory.put(keys.get(file), fileViolations);
+        write(keys.get(file), fileViolations);
+        violations.addAll(fileViolations);
+      }
+
+      // Violations reported against files outside the source set are not cached.
+      byFile.values().forEach(violations::addAll);
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    } finally {
+      synchronized (this) {
+        statistics
+            .computeIfAbsent(validator.getClass().getSimpleName(), x -> new Statistics())
+            .add(stats);
+      }
+    }
+
+    Violations result = new Violations(violations);
+    result.getSkips().addAll(skips);
+
+    return new Outcome(result, fileHashes.size(), changed.size());
+  }
+
+  public synchronized void printStatistics() {
+    int duplicates = files - distinct;
+    double ratio = files == 0 ? 0 : (double) duplicates / files * 100;
+
+    System.out.println(
+        String.format(
+            "Deduplicated %d of %d source files (%.1f%%), %d distinct.",
+            duplicates, files, ratio, distinct));
+
+    for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+      Statistics stats = entry.getValue();
+
+      System.out.println(
+          String.format(
+              "  %s: analysed %d, reused %d in run, %d from cache, saved ~%.1fs.",
+              entry.getKey(),
+              stats.analysed,
+              stats.memoryHits,
+              stats.diskHits,
+              stats.getSavedNanos() / 1e9));
+    }
+  }
+
+  // Each repo is hashed once, for all validators, the map is replaced and never changed.
+  private synchronized Map<Path, String> getFileHashes(Repo repo) throws IOException {
+    if (indexedRepo != repo) {
+      fileHashes = index(repo);
+      indexedRepo = repo;
+    }
+
+    return fileHashes;
+  }
+
+  private Map<Path, String> index(Repo repo) throws IOException {
+    Map<Path, String> fileHashes = new LinkedHashMap<>();
+
+    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
+      // The path is part of the hash as some checks, e.g. file and package names, depend on it.
+      Path relative = repo.getDir().toAbsolutePath().relativize(file.toAbsolutePath());
+      String hash =
+          Hash.sha256(relative.toString().replace('\\', '/'), Files.readAllBytes(file));
+
+      fileHashes.put(file, hash);
+      files++;
+
+      // Hashes evicted from the set count as distinct again when seen next.
+      if (distinctFiles.add(hash)) {
+        distinct++;
+      }
+    }
+
+    return Collections.unmodifiableMap(fileHashes);
+  }
+
+  private List<Violation> retarget(List<Violation> violations, Path file) {
+    List<Violation> retargeted = new ArrayList<>(violations.size());
+
+    for (Violation violation : violations) {
+      retargeted.add(
+          new Violation(
+              violation.getType(),
+              file,
+              violation.getLine(),
+              violation.getEndLine(),
+              violation.getMessageArgs()));
+    }
+
+    return retargeted;
+  }
+
+  private Path getEntry(String key) {
+    return dir.resolve(key.substring(0, 2)).resolve(key);
+  }
+
+  private List<Violation> read(String key) throws IOException {
+    if (dir == null || !Files.exists(getEntry(key))) {
+      return null;
+    }
+
+    List<Violation> violations = new ArrayList<>();
+
+    try {
+      for (String line : Files.readAllLines(getEntry(key))) {
+        String[] fields = line.split("\t");
+        Type type = Type.valueOf(fields[0]);
+        int beginLine = Integer.parseInt(fields[1]);
+        int endLine = Integer.parseInt(fields[2]);
+        String[] args = new String[fields.length - 3];
+
+        for (int i = 0; i < args.length; i++) {
+          args[i] = StringEscapeUtils.unescapeJava(fields[i + 3]);
+        }
+
+        violations.add(new Violation(type, null, beginLine, endLine, args));
+      }
+    } catch (IOException | RuntimeException e) {
+      // A corrupt entry, or one of a type since renamed, is a miss and is analysed again.
+      System.err.println("Ignoring corrupt cache entry: " + getEntry(key));
+      Files.deleteIfExists(getEntry(key));
+      return null;
+    }
+
+    return violations;
+  }
+
+  private void write(String key, List<Violation> violations) throws IOException {
+    if (dir == null) {
+      return;
+    }
+
+    Path entry = getEntry(key);
+    Files.createDirectories(entry.getParent());
+    Path temp = Files.createTempFile(entry.getParent(), key, ".tmp");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+      for (Violation violation : violations) {
+        writer
+            .append(violation.getType().name())
+            .append("\t")
+            .append(String.valueOf(violation.getLine()))
+            .append("\t")
+            .append(String.valueOf(violation.getEndLine()));
+
+        for (String arg : violation.getMessageArgs()) {
+          writer.append("\t").append(StringEscapeUtils.escapeJava(arg));
+        }
+
+        writer.append("\n");
+      }
+    }
+
+    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private Path normalise(Path file) {
+    return file.toAbsolutePath().normalize();
+  }
+}
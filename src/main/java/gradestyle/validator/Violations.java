@@ -2,13 +2,23 @@ package gradestyle.validator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class Violations {
+  private static final Comparator<Violation> EXAMPLE_ORDER =
+      Comparator.comparing((Violation violation) -> violation.getPath().toString())
+          .thenComparingInt(Violation::getLine)
+          .thenComparingInt(Violation::getEndLine)
+          .thenComparing(Violation::getType);
+
   private List<Violation> violations;
 
+  private List<Skip> skips = new ArrayList<>();
+
   public Violations() {
     this(new ArrayList<>());
   }
@@ -31,9 +41,13 @@ public class Violations {
 
   public List<Violation> getCategoryExamples(Category category, int examples) {
     List<Violation> violations =
-        filterByCategory(category).getViolations().stream().distinct().collect(Collectors.toList());
+        filterByCategory(category).getViolations().stream()
+            .distinct()
+            .sorted(EXAMPLE_ORDER)
+            .collect(Collectors.toList());
 
-    Collections.shuffle(violations);
+    // Seeded by the violations, so the same code always gets the same report.
+    Collections.shuffle(violations, new Random(violations.hashCode()));
 
     return violations.subList(0, Math.min(violations.size(), examples));
   }
@@ -41,4 +55,8 @@ public class Violations {
   public List<Violation> getViolations() {
     return violations;
   }
+
+  public List<Skip> getSkips() {
+    return skips;
+  }
 }
@@ -8,25 +8,50 @@ import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import gradestyle.Repo;
 import gradestyle.util.FileUtils;
-import gradestyle.validator.Validator;
+import gradestyle.util.Hash;
+import gradestyle.validator.FileValidator;
 import gradestyle.validator.ValidatorException;
 import gradestyle.validator.Violations;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.List;
 import org.xml.sax.InputSource;
 
-public class Checkstyle implements Validator {
+public class Checkstyle implements FileValidator {
   private static final URL config = Checkstyle.class.getResource("checkstyle.xml");
 
   @Override
   public Violations validate(Repo repo) throws ValidatorException {
+    try {
+      return validateFiles(repo, FileUtils.getJavaSrcFiles(repo.getDir()).toList());
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
+  }
+
+  @Override
+  public String getFingerprint() {
+    try (InputStream stream = config.openStream()) {
+      return Hash.sha256(stream.readAllBytes());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Violations validateFiles(Repo repo, List<Path> files) throws ValidatorException {
     Violations violations = new Violations();
 
+    // Every file was found in the cache.
+    if (files.isEmpty()) {
+      return violations;
+    }
+
     try {
-      runCheckstyle(repo, violations);
+      runCheckstyle(files, violations);
     } catch (CheckstyleException e) {
       String message = "Exception was thrown while processing ";
       int index = e.getMessage().indexOf(message);
@@ -39,7 +64,7 @@ public class Checkstyle implements Validator {
     return violations;
   }
 
-  private void runCheckstyle(Repo repo, Violations violations)
+  private void runCheckstyle(List<Path> files, Violations violations)
       throws CheckstyleException, IOException {
     InputSource source = new InputSource(config.openStream());
     PropertiesExpander props = new PropertiesExpander(System.getProperties());
@@ -51,11 +76,7 @@ public class Checkstyle implements Validator {
     checker.setModuleClassLoader(Checker.class.getClassLoader());
     checker.configure(configuration);
     checker.addListener(new Listener(violations));
-    checker.process(getJavaFiles(repo));
+    checker.process(files.stream().map(Path::toFile).toList());
     checker.destroy();
   }
-
-  private static List<File> getJavaFiles(Repo repo) throws IOException {
-    return FileUtils.getJavaSrcFiles(repo.getDir()).map(Path::toFile).toList();
-  }
 }
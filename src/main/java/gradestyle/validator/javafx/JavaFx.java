@@ -20,8 +20,11 @@ import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
@@ -29,7 +32,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.xml.sax.SAXException;
 
 public class JavaFx implements Validator {
-  private SAXParserFactory factory = SAXParserFactory.newInstance();
+  private static final SAXParserFactory factory = SAXParserFactory.newInstance();
+
+  // SAX parsers are not thread safe, so each FXML worker thread reuses its own.
+  private static final ThreadLocal<SAXParser> parsers =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return factory.newSAXParser();
+            } catch (ParserConfigurationException | SAXException e) {
+              throw new IllegalStateException(e);
+            }
+          });
+
+  private record Controller(Path file, ClassOrInterfaceDeclaration declaration) {}
 
   private boolean enabled;
 
@@ -48,7 +64,7 @@ public class JavaFx implements Validator {
 
     try {
       runJavaFx(repo, violations);
-    } catch (ParserConfigurationException | SAXException | IOException e) {
+    } catch (IOException e) {
       throw new ValidatorException(e);
     }
 
@@ -56,49 +72,88 @@ public class JavaFx implements Validator {
   }
 
   private void runJavaFx(Repo repo, Violations violations)
-      throws ParserConfigurationException, SAXException, IOException, ValidatorException {
-    SAXParser parser = factory.newSAXParser();
-
-    for (Path fxmlFile : FileUtils.getFxmlResourceFiles(repo.getDir()).toList()) {
-      Fxml fxml = new Fxml();
-
-      parser.parse(fxmlFile.toFile(), fxml);
+      throws IOException, ValidatorException {
+    List<Path> fxmlFiles = FileUtils.getFxmlResourceFiles(repo.getDir()).toList();
 
-      Path javaFile = null;
-      ClassOrInterfaceDeclaration declaration = null;
+    if (fxmlFiles.isEmpty()) {
+      return;
+    }
 
-      for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
-        ParseResult<CompilationUnit> result = JavaParser.get(repo).parse(file);
+    Map<Path, Fxml> fxmls = new ConcurrentHashMap<>();
+    Map<Path, Exception> errors = new ConcurrentHashMap<>();
+
+    fxmlFiles.parallelStream()
+        .forEach(
+            file -> {
+              try {
+                fxmls.put(file, parseFxml(file));
+              } catch (SAXException | IOException e) {
+                errors.put(file, e);
+              }
+            });
+
+    if (!errors.isEmpty()) {
+      Path file = fxmlFiles.stream().filter(errors::containsKey).findFirst().get();
+      throw new ValidatorException(file, errors.get(file).getMessage());
+    }
 
-        if (!result.isSuccessful()) {
-          throw new ValidatorException(file);
-        }
+    Map<String, Controller> controllers = getControllers(repo);
 
-        Optional<ClassOrInterfaceDeclaration> optionalDeclaration =
-            result
-                .getResult()
-                .get()
-                .findFirst(
-                    ClassOrInterfaceDeclaration.class,
-                    decl -> decl.getFullyQualifiedName().get().equals(fxml.getController()));
-
-        if (optionalDeclaration.isPresent()) {
-          javaFile = file;
-          declaration = optionalDeclaration.get();
-          break;
-        }
-      }
+    for (Path fxmlFile : fxmlFiles) {
+      Fxml fxml = fxmls.get(fxmlFile);
+      Controller controller = controllers.get(fxml.getController());
 
-      if (declaration == null) {
+      if (controller == null) {
         continue;
       }
 
+      Path javaFile = controller.file();
+      ClassOrInterfaceDeclaration declaration = controller.declaration();
+
       checkControllerClass(violations, javaFile, declaration);
       checkIds(violations, javaFile, declaration, fxml.getIds());
       checkActions(violations, javaFile, declaration, fxml.getActions());
     }
   }
 
+  private Fxml parseFxml(Path file) throws SAXException, IOException {
+    SAXParser parser = parsers.get();
+    Fxml fxml = new Fxml();
+
+    try {
+      parser.parse(file.toFile(), fxml);
+    } finally {
+      parser.reset();
+    }
+
+    return fxml;
+  }
+
+  private Map<String, Controller> getControllers(Repo repo)
+      throws IOException, ValidatorException {
+    Map<String, Controller> controllers = new HashMap<>();
+    com.github.javaparser.JavaParser parser = JavaParser.get(repo);
+
+    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
+      ParseResult<CompilationUnit> result = parser.parse(file);
+
+      if (!result.isSuccessful()) {
+        throw new ValidatorException(file);
+      }
+
+      for (ClassOrInterfaceDeclaration decl :
+          result.getResult().get().findAll(ClassOrInterfaceDeclaration.class)) {
+        Optional<String> name = decl.getFullyQualifiedName();
+
+        if (name.isPresent()) {
+          controllers.putIfAbsent(name.get(), new Controller(file, decl));
+        }
+      }
+    }
+
+    return controllers;
+  }
+
   private void checkControllerClass(
       Violations violations, Path file, ClassOrInterfaceDeclaration decl) {
     if (!decl.getNameAsString().endsWith("Controller")) {
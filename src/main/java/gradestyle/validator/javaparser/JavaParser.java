@@ -45,10 +45,15 @@ import gradestyle.config.javadocconfig.JavadocFieldConfig;
 import gradestyle.config.javadocconfig.JavadocMethodConfig;
 import gradestyle.config.programmingpracticeconfig.FinalizeOverrideConfig;
 import gradestyle.config.programmingpracticeconfig.UnqualifiedStaticAccessConfig;
+import gradestyle.metrics.FileParsedEvent;
+import gradestyle.metrics.Metrics;
+import gradestyle.metrics.SymbolResolutionEvent;
 import gradestyle.util.FileUtils;
 import gradestyle.validator.Category;
+import gradestyle.validator.Deadline;
+import gradestyle.validator.FileValidator;
+import gradestyle.validator.Skip;
 import gradestyle.validator.Type;
-import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
 import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
@@ -56,15 +61,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.apache.commons.text.similarity.LevenshteinDistance;
 
-public class JavaParser implements Validator {
+public class JavaParser implements FileValidator {
   private CommentingConfig commentingConfig;
 
   private JavadocClassConfig javadocClassConfig;
@@ -75,8 +82,12 @@ public class JavaParser implements Validator {
   private UnqualifiedStaticAccessConfig unqualifiedStaticAccessConfig;
   private OrderConfig orderConfig;
 
+  private long fileBudget;
+
   @Override
   public void setup(Config config) {
+    this.fileBudget = config.getBudgetFile();
+
     this.commentingConfig = config.getCategoryConfig(CommentingConfig.class);
 
     this.javadocClassConfig = config.getCategoryConfig(JavadocClassConfig.class);
@@ -91,10 +102,70 @@ public class JavaParser implements Validator {
 
   @Override
   public Violations validate(Repo repo) throws ValidatorException {
+    try {
+      return validateFiles(repo, FileUtils.getJavaSrcFiles(repo.getDir()).toList());
+    } catch (IOException e) {
+      throw new ValidatorException(e);
+    }
+  }
+
+  @Override
+  public String getFingerprint() {
+    StringBuilder sb = new StringBuilder();
+
+    if (commentingConfig != null) {
+      sb.append("Commenting:")
+          .append(commentingConfig.getMinLines())
+          .append(",")
+          .append(commentingConfig.getMinFrequency())
+          .append(",")
+          .append(commentingConfig.getMaxFrequency())
+          .append(",")
+          .append(commentingConfig.getLevenshteinDistance())
+          .append(";");
+    }
+
+    if (javadocClassConfig != null) {
+      sb.append("JavadocClass:").append(javadocClassConfig.getMinWords()).append(";");
+    }
+
+    if (javadocMethodConfig != null) {
+      sb.append("JavadocMethod:").append(javadocMethodConfig.getMinWords()).append(";");
+    }
+
+    if (javadocFieldConfig != null) {
+      sb.append("JavadocField:").append(javadocFieldConfig.getMinWords()).append(";");
+    }
+
+    if (javadocConstructorConfig != null) {
+      sb.append("JavadocConstructor:").append(javadocConstructorConfig.getMinWords()).append(";");
+    }
+
+    if (orderConfig != null) {
+      sb.append("Ordering:").append(orderConfig.getOrdering()).append(";");
+    }
+
+    if (finalizeOverrideConfig != null) {
+      sb.append("FinalizeOverride;");
+    }
+
+    return sb.toString();
+  }
+
+  // The unqualified static access checks resolve symbols across the whole repo, so then every
+  // file is parsed, once for both kinds of checks.
+  @Override
+  public Violations validateFiles(Repo repo, List<Path> files) throws ValidatorException {
     Violations violations = new Violations();
 
     try {
-      runJavaparser(repo, violations);
+      List<Path> parsed = files;
+
+      if (unqualifiedStaticAccessConfig != null) {
+        parsed = FileUtils.getJavaSrcFiles(repo.getDir()).toList();
+      }
+
+      runJavaparser(repo, parsed, Set.copyOf(files), violations);
     } catch (IOException e) {
       throw new ValidatorException(e);
     }
@@ -102,72 +173,153 @@ public class JavaParser implements Validator {
     return violations;
   }
 
-  private void runJavaparser(Repo repo, Violations violations)
+  @Override
+  public boolean isRepoCheck(Type type) {
+    return type == Type.UnqualifiedStaticAccess_Method
+        || type == Type.UnqualifiedStaticAccess_Field;
+  }
+
+  private void runJavaparser(
+      Repo repo, List<Path> files, Set<Path> checked, Violations violations)
       throws ValidatorException, IOException {
+    if (files.isEmpty()) {
+      return;
+    }
 
     com.github.javaparser.JavaParser javaParser = gradestyle.util.JavaParser.get(repo);
 
-    for (Path file : FileUtils.getJavaSrcFiles(repo.getDir()).toList()) {
-      ParseResult<CompilationUnit> result = javaParser.parse(file);
+    for (Path file : files) {
+      int before = violations.getViolations().size();
+      Deadline.start(fileBudget);
 
-      if (!result.isSuccessful()) {
-        List<Problem> problems = result.getProblems();
-        int numProblems = problems.size();
-
-        if (numProblems == 1) {
-          throw new ValidatorException(file, problems.get(0).getVerboseMessage());
-        } else if (numProblems > 1) {
-          StringBuilder message = new StringBuilder();
-          for (int i = 0; i < numProblems - 1; i++) {
-            message.append(String.valueOf(i)).append(") ");
-            message.append(problems.get(i).getMessage()).append("\n");
-          }
+      try {
+        runJavaparser(repo, javaParser, file, checked.contains(file), violations);
+      } catch (Deadline.ExceededException e) {
+        // A cancelled validator stops, a file over its budget is skipped with its partial results.
+        if (Thread.currentThread().isInterrupted()) {
+          throw e;
         }
+
+        violations.getViolations().subList(before, violations.getViolations().size()).clear();
+        violations
+            .getSkips()
+            .add(new Skip("JavaParser", file, "exceeded the " + fileBudget + "s file budget"));
+
+        System.err.println(
+            "Skipped " + file + " of " + repo.getName() + ", it exceeded its time budget.");
+      } finally {
+        Deadline.clear();
       }
+    }
+  }
 
-      CompilationUnit cu = result.getResult().get();
+  private void runJavaparser(
+      Repo repo,
+      com.github.javaparser.JavaParser javaParser,
+      Path file,
+      boolean fileChecks,
+      Violations violations)
+      throws ValidatorException, IOException {
+    ParseResult<CompilationUnit> result;
 
-      privateFieldViolations(file).visit(cu, violations);
+    FileParsedEvent event = new FileParsedEvent();
+    event.begin();
 
-      if (orderConfig != null) {
-        List<OrderElement> ordering = orderConfig.getOrdering();
-        classOrderingViolations(file, ordering).visit(cu, violations);
-      }
+    try (Metrics.Span span = Metrics.get().span(repo.getName(), "JavaParser", "parse")) {
+      result = javaParser.parse(file);
+    }
 
-      if (commentingConfig != null) {
-        IOException e = commentFrequencyViolations(file).visit(cu, violations);
+    event.end();
 
-        if (e != null) {
-          throw e;
-        }
+    if (event.shouldCommit()) {
+      event.repo = repo.getName();
+      event.path = file.toString();
+      event.successful = result.isSuccessful();
+      event.commit();
+    }
 
-        commentMeaningViolations(file).visit(cu, violations);
+    if (!result.isSuccessful()) {
+      List<Problem> problems = result.getProblems();
+      int numProblems = problems.size();
+
+      if (numProblems == 1) {
+        throw new ValidatorException(file, problems.get(0).getVerboseMessage());
+      } else if (numProblems > 1) {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < numProblems - 1; i++) {
+          message.append(String.valueOf(i)).append(") ");
+          message.append(problems.get(i).getMessage()).append("\n");
+        }
       }
+    }
 
-      if (javadocFieldConfig != null) {
-        javadocFieldViolations(file).visit(cu, violations);
-      }
-      if (javadocMethodConfig != null) {
-        javadocMethodViolations(file).visit(cu, violations);
-      }
-      if (javadocConstructorConfig != null) {
-        javadocConstructorViolations(file).visit(cu, violations);
-      }
-      if (javadocClassConfig != null) {
-        javadocClassViolations(file).visit(cu, violations);
-      }
+    CompilationUnit cu = result.getResult().get();
+    Deadline.check();
+
+    if (fileChecks) {
+      runFileChecks(javaParser, file, cu, violations);
+    }
+
+    if (unqualifiedStaticAccessConfig != null) {
+      SymbolResolutionEvent resolution = new SymbolResolutionEvent();
+      int before = violations.getViolations().size();
+      resolution.begin();
 
-      if (finalizeOverrideConfig != null) {
-        finalizeNotAllowedViolation(file).visit(cu, violations);
+      unqualifiedStaticMethodViolations(file).visit(cu, violations);
+      unqualifiedStaticFieldViolations(file).visit(cu, violations);
+
+      resolution.end();
+
+      if (resolution.shouldCommit()) {
+        resolution.repo = repo.getName();
+        resolution.path = file.toString();
+        resolution.violations = violations.getViolations().size() - before;
+        resolution.commit();
       }
+    }
+  }
 
-      if (unqualifiedStaticAccessConfig != null) {
-        unqualifiedStaticMethodViolations(file).visit(cu, violations);
-        unqualifiedStaticFieldViolations(file).visit(cu, violations);
+  private void runFileChecks(
+      com.github.javaparser.JavaParser javaParser,
+      Path file,
+      CompilationUnit cu,
+      Violations violations)
+      throws IOException {
+    privateFieldViolations(file).visit(cu, violations);
+
+    if (orderConfig != null) {
+      List<OrderElement> ordering = orderConfig.getOrdering();
+      classOrderingViolations(file, ordering).visit(cu, violations);
+    }
+
+    if (commentingConfig != null) {
+      IOException e = commentFrequencyViolations(file).visit(cu, violations);
+
+      if (e != null) {
+        throw e;
       }
 
-      commentViolations(repo, file, cu, violations);
+      commentMeaningViolations(file).visit(cu, violations);
+    }
+
+    if (javadocFieldConfig != null) {
+      javadocFieldViolations(file).visit(cu, violations);
+    }
+    if (javadocMethodConfig != null) {
+      javadocMethodViolations(file).visit(cu, violations);
+    }
+    if (javadocConstructorConfig != null) {
+      javadocConstructorViolations(file).visit(cu, violations);
+    }
+    if (javadocClassConfig != null) {
+      javadocClassViolations(file).visit(cu, violations);
+    }
+
+    if (finalizeOverrideConfig != null) {
+      finalizeNotAllowedViolation(file).visit(cu, violations);
     }
+
+    commentViolations(javaParser, file, cu, violations);
   }
 
   private GenericVisitorAdapter<IOException, Violations> commentFrequencyViolations(Path file) {
@@ -240,6 +392,8 @@ public class JavaParser implements Validator {
       @Override
       public void visit(MethodCallExpr methodCall, Violations violations) {
         super.visit(methodCall, violations);
+        Deadline.check();
+
         try {
           ResolvedMethodDeclaration resolvedMethod = methodCall.resolve();
 
@@ -324,6 +478,7 @@ public class JavaParser implements Validator {
       @Override
       public void visit(FieldAccessExpr fieldAccess, Violations violations) {
         super.visit(fieldAccess, violations);
+        Deadline.check();
 
         try {
           ResolvedValueDeclaration v = fieldAccess.resolve();
@@ -418,7 +573,7 @@ public class JavaParser implements Validator {
     };
   }
 
-  private VoidVisitorAdapter<Violations> commentMeaningViolations(Path file) {
+  VoidVisitorAdapter<Violations> commentMeaningViolations(Path file) {
     return new VoidVisitorAdapter<Violations>() {
       @Override
       public void visit(LineComment comment, Violations violations) {
@@ -433,6 +588,8 @@ public class JavaParser implements Validator {
       }
 
       private void visitComment(Comment comment, Violations violations) {
+        Deadline.check();
+
         if (comment.isJavadocComment()) {
           return;
         }
@@ -473,6 +630,12 @@ public class JavaParser implements Validator {
 
   private VoidVisitorAdapter<Violations> classOrderingViolations(
       Path file, List<OrderElement> ordering) {
+    Map<OrderElement, Integer> ranking = new EnumMap<>(OrderElement.class);
+
+    for (int i = ordering.size() - 1; i >= 0; i--) {
+      ranking.put(ordering.get(i), i);
+    }
+
     return new VoidVisitorAdapter<Violations>() {
       @Override
       public void visit(ClassOrInterfaceDeclaration decl, Violations violations) {
@@ -490,83 +653,69 @@ public class JavaParser implements Validator {
 
       private <T extends TypeDeclaration<?>> void visitAll(
           TypeDeclaration<T> decl, Violations violations) {
-        // Group members by type
-        @SuppressWarnings("rawtypes")
-        List<TypeDeclaration> innerClasses =
-            decl.getMembers().stream()
-                .filter(
-                    member -> member.isClassOrInterfaceDeclaration() || member.isEnumDeclaration())
-                .map(BodyDeclaration::asTypeDeclaration)
-                .toList();
-
-        List<FieldDeclaration> staticFields =
-            decl.getMembers().stream()
-                .filter(BodyDeclaration::isFieldDeclaration)
-                .map(BodyDeclaration::asFieldDeclaration)
-                .filter(FieldDeclaration::isStatic)
-                .toList();
-
-        List<MethodDeclaration> staticMethods =
-            decl.getMembers().stream()
-                .filter(BodyDeclaration::isMethodDeclaration)
-                .map(BodyDeclaration::asMethodDeclaration)
-                .filter(MethodDeclaration::isStatic)
-                .toList();
-
-        List<FieldDeclaration> instanceFields =
-            decl.getMembers().stream()
-                .filter(BodyDeclaration::isFieldDeclaration)
-                .map(BodyDeclaration::asFieldDeclaration)
-                .filter(Predicate.not(FieldDeclaration::isStatic))
-                .toList();
-
-        List<ConstructorDeclaration> constructors =
-            decl.getMembers().stream()
-                .filter(BodyDeclaration::isConstructorDeclaration)
-                .map(BodyDeclaration::asConstructorDeclaration)
-                .toList();
-
-        List<MethodDeclaration> instanceMethods =
-            decl.getMembers().stream()
-                .filter(BodyDeclaration::isMethodDeclaration)
-                .map(BodyDeclaration::asMethodDeclaration)
-                .filter(Predicate.not(MethodDeclaration::isStatic))
-                .toList();
-
-        Map<OrderElement, List<? extends Node>> groups =
-            Map.of(
-                OrderElement.InnerClasses, innerClasses,
-                OrderElement.StaticFields, staticFields,
-                OrderElement.StaticMethods, staticMethods,
-                OrderElement.InstanceFields, instanceFields,
-                OrderElement.Constructors, constructors,
-                OrderElement.InstanceMethods, instanceMethods);
-
-        for (int i = 0; i < ordering.size(); i++) {
-          OrderElement orderElement = ordering.get(i);
-          List<? extends Node> currentGroup = groups.get(orderElement);
-
-          for (Node currentNode : currentGroup) {
-            for (int j = i + 1; j < ordering.size(); j++) {
-              OrderElement order = ordering.get(j);
-              List<? extends Node> afterGroup = groups.get(order);
-
-              for (Node node : afterGroup) {
-                if (isBefore(node, currentNode)) {
-                  addOrderViolation(
-                      violations,
-                      Type.valueOf("Ordering_" + order.name()),
-                      file,
-                      getNodeName(node),
-                      getNodeName(currentNode),
-                      getFirstLine(node));
-                  // only have 1 violation for each out of order-violation
-                  continue;
-                }
-              }
+        // Classify each member once, by its position in the ordering.
+        List<BodyDeclaration<?>> members = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+
+        for (BodyDeclaration<?> member : decl.getMembers()) {
+          Integer rank = ranking.get(getOrderElement(member));
+
+          if (rank != null) {
+            members.add(member);
+            ranks.add(rank);
+          }
+        }
+
+        // Scan from the end, tracking the lowest rank seen so far. A member is out of order if
+        // something ranked before it appears after it, and it should then appear after the last
+        // such member.
+        int[] lastOfRank = new int[ordering.size()];
+        Arrays.fill(lastOfRank, -1);
+        int minRank = Integer.MAX_VALUE;
+
+        for (int i = members.size() - 1; i >= 0; i--) {
+          int rank = ranks.get(i);
+
+          if (rank > minRank) {
+            int reference = -1;
+
+            for (int r = 0; r < rank; r++) {
+              reference = Math.max(reference, lastOfRank[r]);
             }
+
+            addOrderViolation(
+                violations,
+                Type.valueOf("Ordering_" + ordering.get(rank).name()),
+                file,
+                getNodeName(members.get(i)),
+                getNodeName(members.get(reference)),
+                getFirstLine(members.get(i)));
           }
+
+          if (lastOfRank[rank] == -1) {
+            lastOfRank[rank] = i;
+          }
+
+          minRank = Math.min(minRank, rank);
+        }
+      }
+
+      private OrderElement getOrderElement(BodyDeclaration<?> member) {
+        if (member.isClassOrInterfaceDeclaration() || member.isEnumDeclaration()) {
+          return OrderElement.InnerClasses;
+        } else if (member.isFieldDeclaration()) {
+          return member.asFieldDeclaration().isStatic()
+              ? OrderElement.StaticFields
+              : OrderElement.InstanceFields;
+        } else if (member.isMethodDeclaration()) {
+          return member.asMethodDeclaration().isStatic()
+              ? OrderElement.StaticMethods
+              : OrderElement.InstanceMethods;
+        } else if (member.isConstructorDeclaration()) {
+          return OrderElement.Constructors;
         }
+
+        return null;
       }
 
       private String getNodeName(Node node) {
@@ -592,23 +741,12 @@ public class JavaParser implements Validator {
           return "unknown";
         }
       }
-
-      private <T> T getLastElement(List<T> list) {
-        return list.get(list.size() - 1);
-      }
-
-      private boolean isBefore(Node a, Node b) {
-        return getFirstLine(a) < getFirstLine(b);
-      }
     };
   }
 
   private void addOrderViolation(
       Violations violations, Type type, Path file, String element, String reference, int line) {
-    Violation violation = new Violation(type, file, line);
-    String message = String.format(type.getMessage(), element, reference);
-    OrderViolationResults.addViolation(violation, message);
-    violations.getViolations().add(violation);
+    violations.getViolations().add(new Violation(type, file, line, element, reference));
   }
 
   private VoidVisitorAdapter<Violations> javadocClassViolations(Path file) {
@@ -731,8 +869,14 @@ public class JavaParser implements Validator {
     }
   }
 
-  private void commentViolations(Repo repo, Path file, CompilationUnit cu, Violations violations) {
+  void commentViolations(
+      com.github.javaparser.JavaParser javaParser,
+      Path file,
+      CompilationUnit cu,
+      Violations violations) {
     for (Comment comment : getMergedComments(cu)) {
+      Deadline.check();
+
       Optional<Node> parent = comment.getParentNode();
       String contents = comment.getContent();
 
@@ -749,7 +893,7 @@ public class JavaParser implements Validator {
         continue;
       }
 
-      ParseResult<CompilationUnit> result = gradestyle.util.JavaParser.get(repo).parse(code);
+      ParseResult<CompilationUnit> result = javaParser.parse(code);
 
       if (result.isSuccessful()) {
         addViolation(violations, Type.Useless_CommentedCode, file, getFirstLine(comment));
@@ -3,13 +3,15 @@ package gradestyle.validator.pmd;
 import gradestyle.Repo;
 import gradestyle.config.programmingpracticeconfig.MissingOverrideConfig;
 import gradestyle.util.FileUtils;
+import gradestyle.util.Hash;
+import gradestyle.validator.FileValidator;
 import gradestyle.validator.Type;
-import gradestyle.validator.Validator;
 import gradestyle.validator.ValidatorException;
 import gradestyle.validator.Violation;
 import gradestyle.validator.Violations;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -20,6 +22,8 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import net.sourceforge.pmd.PMDConfiguration;
 import net.sourceforge.pmd.PmdAnalysis;
 import net.sourceforge.pmd.lang.java.JavaLanguageModule;
@@ -27,12 +31,43 @@ import net.sourceforge.pmd.lang.rule.Rule;
 import net.sourceforge.pmd.reporting.Report;
 import net.sourceforge.pmd.reporting.RuleViolation;
 
-public class Pmd implements Validator {
+public class Pmd implements FileValidator {
   private static final URL config = Pmd.class.getResource("pmd.xml");
 
+  // Types of the rules that only look at a single file's syntax, the others resolve types against
+  // the repo's compiled classes.
+  private static final Set<Type> fileTypes =
+      Set.of(Type.Useless_Assignment, Type.Useless_LocalVariable, Type.Useless_Return);
+
+  private Path ruleSetPath;
+
   @Override
   public Violations validate(Repo repo) throws ValidatorException {
+    return run(repo, null);
+  }
+
+  @Override
+  public String getFingerprint() {
+    try (InputStream stream = config.openStream()) {
+      return Hash.sha256(stream.readAllBytes(), new TreeSet<>(fileTypes));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // The type resolving rules need every file anyway, so one analysis runs all the rules, and the
+  // file rules' violations are only kept for the given files.
+  @Override
+  public Violations validateFiles(Repo repo, List<Path> files) throws ValidatorException {
+    return run(repo, files.stream().map(file -> file.toAbsolutePath().normalize()).toList());
+  }
 
+  @Override
+  public boolean isRepoCheck(Type type) {
+    return !fileTypes.contains(type);
+  }
+
+  private Violations run(Repo repo, List<Path> files) throws ValidatorException {
     // Need the bytecode to use PMD's missing override rule:
     //    https://github.com/pmd/pmd/issues/2428
     repo.generateBytecode();
@@ -42,46 +77,15 @@ public class Pmd implements Validator {
     JavaLanguageModule lan = new JavaLanguageModule();
     configuration.setDefaultLanguageVersion(lan.getVersion("21"));
 
-    Path ruleSetPath;
-    try {
-      if (config == null) {
-        throw new ValidatorException(new IllegalStateException("pmd.xml not found!"));
-      }
-
-      // Check if running from a JAR
-      if (config.toURI().getScheme().equals("jar")) {
-        // copy resource to a temporary file
-        try (InputStream stream = Pmd.class.getResourceAsStream("pmd.xml")) {
-          if (stream == null) {
-            throw new ValidatorException(new Exception("Failed to load pmd.xml from JAR"));
-          }
-          Path tempFile = Files.createTempFile("pmd-ruleset", ".xml");
-          Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
-          ruleSetPath = tempFile;
-        }
-      } else {
-        // Running from IDE or normal file system
-        ruleSetPath = Paths.get(config.toURI());
-      }
-    } catch (Exception e) {
-      System.out.println(e.getMessage());
-      throw new ValidatorException(e);
-    }
-
-    if (!Files.exists(ruleSetPath)) {
-      throw new IllegalStateException("ERROR: pmd.xml ruleset not found.");
-    }
-
-    configuration.addRuleSet(ruleSetPath.toString());
+    configuration.addRuleSet(getRuleSetPath().toString());
 
     configuration.setIgnoreIncrementalAnalysis(true);
     configuration.setSourceEncoding(StandardCharsets.UTF_8);
 
     try {
+      List<Path> inputs = FileUtils.getJavaSrcFiles(repo.getDir()).toList();
 
-      List<Path> sourceFiles = FileUtils.getJavaSrcFiles(repo.getDir()).toList();
-
-      configuration.setInputPathList(sourceFiles);
+      configuration.setInputPathList(inputs);
 
       // Always add the repo's compiled code to PMD using a class loader.
       ClassLoader repoClassLoader = createProjectClassLoader(repo, configuration.getClassLoader());
@@ -89,7 +93,7 @@ public class Pmd implements Validator {
 
       // optionally add the repo's dependencies to the class loader also.
       if (MissingOverrideConfig.includeDepedencies()) {
-        MavenAetherReader.configureMavenDependencies(repo, configuration, sourceFiles);
+        MavenAetherReader.configureMavenDependencies(repo, configuration, inputs);
       }
 
     } catch (IOException e) {
@@ -99,7 +103,11 @@ public class Pmd implements Validator {
       e.printStackTrace();
     }
 
-    Report report = PmdAnalysis.create(configuration).performAnalysisAndCollectReport();
+    Report report;
+
+    try (PmdAnalysis analysis = PmdAnalysis.create(configuration)) {
+      report = analysis.performAnalysisAndCollectReport();
+    }
 
     if (!report.getProcessingErrors().isEmpty()) {
       StringBuffer sb = new StringBuffer();
@@ -114,12 +122,54 @@ public class Pmd implements Validator {
     }
 
     try {
-      return getViolations(report.getViolations());
+      return getViolations(report.getViolations(), files);
     } catch (IOException e) {
       throw new ValidatorException(e);
     }
   }
 
+  // Copied out of a JAR once per validator, and deleted when GradeStyle exits.
+  private synchronized Path getRuleSetPath() throws ValidatorException {
+    if (ruleSetPath != null) {
+      return ruleSetPath;
+    }
+
+    Path ruleSetPath;
+    try {
+      if (config == null) {
+        throw new ValidatorException(new IllegalStateException("pmd.xml not found!"));
+      }
+
+      // Check if running from a JAR
+      if (config.toURI().getScheme().equals("jar")) {
+        // copy resource to a temporary file
+        try (InputStream stream = Pmd.class.getResourceAsStream("pmd.xml")) {
+          if (stream == null) {
+            throw new ValidatorException(new Exception("Failed to load pmd.xml from JAR"));
+          }
+          Path tempFile = Files.createTempFile("pmd-ruleset", ".xml");
+          tempFile.toFile().deleteOnExit();
+          Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+          ruleSetPath = tempFile;
+        }
+      } else {
+        // Running from IDE or normal file system
+        ruleSetPath = Paths.get(config.toURI());
+      }
+    } catch (Exception e) {
+      System.out.println(e.getMessage());
+      throw new ValidatorException(e);
+    }
+
+    if (!Files.exists(ruleSetPath)) {
+      throw new IllegalStateException("ERROR: pmd.xml ruleset not found.");
+    }
+
+    this.ruleSetPath = ruleSetPath;
+
+    return ruleSetPath;
+  }
+
   private ClassLoader createProjectClassLoader(Repo repo, ClassLoader parent)
       throws MalformedURLException {
     List<URL> urls = new ArrayList<>();
@@ -132,13 +182,20 @@ public class Pmd implements Validator {
     return new URLClassLoader(urls.toArray(new URL[0]), parent);
   }
 
-  private Violations getViolations(List<RuleViolation> ruleViolations) throws IOException {
+  private Violations getViolations(List<RuleViolation> ruleViolations, List<Path> files)
+      throws IOException {
 
     Violations violations = new Violations();
+    Set<Path> kept = files != null ? Set.copyOf(files) : null;
 
     for (RuleViolation violation : ruleViolations) {
       Type type = getType(violation.getRule());
       Path file = Path.of(violation.getFileId().getAbsolutePath());
+
+      if (kept != null && fileTypes.contains(type) && !kept.contains(file.normalize())) {
+        continue;
+      }
+
       int start = violation.getBeginLine();
       int end = violation.getEndLine();
 
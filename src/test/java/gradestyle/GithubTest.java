@@ -0,0 +1,237 @@
+package gradestyle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import gradestyle.TestServer.Reply;
+
+import gradestyle.config.Config;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GithubTest {
+  @TempDir Path dir;
+
+  private Config config() throws Exception {
+    return config(0);
+  }
+
+  private Config config(int retries) throws Exception {
+    return TestConfig.create(
+        dir,
+        "repos=" + dir.resolve("repos"),
+        "package=com.example",
+        "template=assign-template",
+        "github=true",
+        "github.classroom=example",
+        "github.assignment=assign-",
+        "github.remote=" + dir.resolve("remote"),
+        "github.retries=" + retries,
+        "github.threads=2");
+  }
+
+  private String push(String name, String content) throws Exception {
+    return TestRepos.push(
+        dir.resolve("work").resolve(name),
+        dir.resolve("remote").resolve(name + ".git"),
+        Map.of("src/main/java/App.java", content));
+  }
+
+  @Test
+  void fetchesOnlyTheHeadOfEachRepo() throws Exception {
+    push("assign-alice", "class App {}");
+    String head = push("assign-alice", "class App { int x; }");
+    push("assign-template", "class App {}");
+
+    List<Repo> repos = new Github(config()).cloneAssignment();
+
+    assertEquals(1, repos.size());
+    assertEquals("assign-alice", repos.get(0).getName());
+    assertEquals(head, repos.get(0).getCommit());
+
+    Path alice = dir.resolve("repos/assign-alice");
+
+    assertEquals("class App { int x; }", Files.readString(alice.resolve("src/main/java/App.java")));
+    assertTrue(Files.exists(alice.resolve(".git/shallow")), "Fetched at depth 1");
+
+    // The template is fetched too, so violations can be compared against it.
+    assertTrue(Files.isDirectory(dir.resolve("repos/assign-template/.git")));
+  }
+
+  @Test
+  void resetsToTheLatestPush() throws Exception {
+    push("assign-alice", "class App {}");
+    new Github(config()).cloneAssignment();
+
+    Path file = dir.resolve("repos/assign-alice/src/main/java/App.java");
+    Files.writeString(file, "local changes");
+
+    String head = push("assign-alice", "class App { void run() {} }");
+    List<Repo> repos = new Github(config()).cloneAssignment();
+
+    assertEquals(head, repos.get(0).getCommit());
+    assertEquals("class App { void run() {} }", Files.readString(file));
+  }
+
+  @Test
+  void keepsTheLocalCopyWhenTheFetchFails() throws Exception {
+    push("assign-alice", "class App {}");
+    new Github(config()).cloneAssignment();
+
+    // A detached HEAD names a branch the remote does not have, so fetching it fails.
+    String head = push("assign-alice", "class App { int x; }");
+    Files.writeString(dir.resolve("remote/assign-alice.git/HEAD"), head + "\n");
+
+    assertTrue(new Github(config(1)).cloneAssignment().isEmpty());
+    assertEquals(
+        "class App {}", Files.readString(dir.resolve("repos/assign-alice/src/main/java/App.java")));
+  }
+
+  @Test
+  void clonesABrokenCopyAgain() throws Exception {
+    push("assign-alice", "class App {}");
+    new Github(config()).cloneAssignment();
+
+    FileUtils.cleanDirectory(dir.resolve("repos/assign-alice/.git/objects").toFile());
+
+    String head = push("assign-alice", "class App { int x; }");
+    List<Repo> repos = new Github(config(1)).cloneAssignment();
+
+    assertEquals(1, repos.size());
+    assertEquals(head, repos.get(0).getCommit());
+    assertEquals(
+        "class App { int x; }",
+        Files.readString(dir.resolve("repos/assign-alice/src/main/java/App.java")));
+  }
+
+  @Test
+  void leavesOutReposThatCannotBeFetched() throws Exception {
+    String head = push("assign-alice", "class App {}");
+
+    // Not a repo at all, and a repo without any commits.
+    Files.createDirectories(dir.resolve("remote/assign-broken.git"));
+    Files.writeString(dir.resolve("remote/assign-broken.git/README"), "not a repo");
+
+    Git.init()
+        .setBare(true)
+        .setInitialBranch("main")
+        .setDirectory(dir.resolve("remote/assign-empty.git").toFile())
+        .call()
+        .close();
+
+    List<Repo> repos = new Github(config()).cloneAssignment();
+
+    assertEquals(1, repos.size());
+    assertEquals(head, repos.get(0).getCommit());
+  }
+
+  @Test
+  void listsEveryPageOfTheOrganisation() throws Exception {
+    String head = push("assign-alice", "class App {}");
+    ObjectMapper mapper = new ObjectMapper();
+
+    // A full first page of other repos, so the assignment is only found on the second.
+    ArrayNode first = mapper.createArrayNode();
+
+    for (int i = 0; i < 100; i++) {
+      first.addObject().put("name", "other-" + i);
+    }
+
+    ArrayNode second = mapper.createArrayNode();
+    second
+        .addObject()
+        .put("name", "assign-alice")
+        .put("default_branch", "main")
+        .put("clone_url", dir.resolve("remote/assign-alice.git").toUri().toString());
+
+    Function<TestServer.Request, Reply> handler =
+        request ->
+            switch (request.path()) {
+              case "/orgs/example/repos?per_page=100&page=1" -> new Reply(200, first.toString());
+              case "/orgs/example/repos?per_page=100&page=2" -> new Reply(200, second.toString());
+              case "/repos/example/assign-alice/git/ref/heads/main" ->
+                  new Reply(200, "{\"object\":{\"sha\":\"" + head + "\"}}");
+              default -> new Reply(404, "");
+            };
+
+    try (TestServer server = new TestServer(handler)) {
+      Config config =
+          TestConfig.create(
+              dir,
+              "repos=" + dir.resolve("repos"),
+              "package=com.example",
+              "github=true",
+              "github.classroom=example",
+              "github.assignment=assign-",
+              "github.api=" + server.getUrl(),
+              "github.retries=0");
+
+      List<Repo> repos = new Github(config).cloneAssignment();
+
+      assertEquals(1, repos.size());
+      assertEquals(head, repos.get(0).getCommit());
+      assertEquals(3, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void sharesTheObjectsOfATemplateFoundByName() throws Exception {
+    String template = push("assign-template", "class App {}");
+    String head = push("assign-alice", "class App {}");
+    ObjectMapper mapper = new ObjectMapper();
+    ArrayNode page = mapper.createArrayNode();
+
+    // Neither repo is flagged as a template.
+    for (String name : List.of("assign-template", "assign-alice")) {
+      page
+          .addObject()
+          .put("name", name)
+          .put("default_branch", "main")
+          .put("clone_url", dir.resolve("remote/" + name + ".git").toUri().toString());
+    }
+
+    Function<TestServer.Request, Reply> handler =
+        request ->
+            switch (request.path()) {
+              case "/orgs/example/repos?per_page=100&page=1" -> new Reply(200, page.toString());
+              case "/repos/example/assign-template/git/ref/heads/main" ->
+                  new Reply(200, "{\"object\":{\"sha\":\"" + template + "\"}}");
+              case "/repos/example/assign-alice/git/ref/heads/main" ->
+                  new Reply(200, "{\"object\":{\"sha\":\"" + head + "\"}}");
+              default -> new Reply(404, "");
+            };
+
+    try (TestServer server = new TestServer(handler)) {
+      Config config =
+          TestConfig.create(
+              dir,
+              "repos=" + dir.resolve("repos"),
+              "package=com.example",
+              "template=assign-template",
+              "github=true",
+              "github.classroom=example",
+              "github.assignment=assign-",
+              "github.api=" + server.getUrl(),
+              "github.shareObjects=true",
+              "github.retries=0");
+
+      List<Repo> repos = new Github(config).cloneAssignment();
+
+      assertEquals(1, repos.size());
+      assertEquals("assign-alice", repos.get(0).getName());
+      assertTrue(Files.isDirectory(dir.resolve("repos/.reference.git")));
+      assertTrue(
+          Files.exists(dir.resolve("repos/assign-alice/.git/objects/info/alternates")),
+          "Borrows the template's objects");
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package gradestyle;
+
+import gradestyle.config.Config;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class TestConfig {
+  // Writes the settings to a properties file in dir, and reads it like the command line does.
+  public static Config create(Path dir, String... settings) throws IOException {
+    Path file = dir.resolve("test.properties");
+    Files.write(file, List.of(settings));
+
+    Config config = Config.parse(new String[] {file.toString()});
+
+    if (config == null) {
+      throw new IllegalStateException("Invalid test config: " + List.of(settings));
+    }
+
+    return config;
+  }
+}
@@ -0,0 +1,61 @@
+package gradestyle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.transport.RefSpec;
+
+public class TestRepos {
+  private static final PersonIdent STUDENT = new PersonIdent("Student", "student@example.com");
+
+  // A repo of the given sources under src/main/java, without any history, as when not using GitHub.
+  public static Repo create(Path dir, String commit, Map<String, String> sources)
+      throws IOException {
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      Path path = dir.resolve("src/main/java").resolve(source.getKey());
+
+      Files.createDirectories(path.getParent());
+      Files.writeString(path, source.getValue());
+    }
+
+    return new Repo(dir, null, dir.getFileName().toString(), commit);
+  }
+
+  // Commits the files in a working repo and pushes them to a bare repo, which stands in for
+  // GitHub. Both are created if needed, returns the new commit.
+  public static String push(Path work, Path bare, Map<String, String> files) throws Exception {
+    if (!Files.isDirectory(bare)) {
+      Git.init().setBare(true).setInitialBranch("main").setDirectory(bare.toFile()).call().close();
+    }
+
+    Git git =
+        Files.isDirectory(work.resolve(".git"))
+            ? Git.open(work.toFile())
+            : Git.init().setInitialBranch("main").setDirectory(work.toFile()).call();
+
+    try (git) {
+      for (Map.Entry<String, String> file : files.entrySet()) {
+        Path path = work.resolve(file.getKey());
+
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, file.getValue());
+      }
+
+      git.add().addFilepattern(".").call();
+
+      RevCommit commit =
+          git.commit().setMessage("Update").setAuthor(STUDENT).setCommitter(STUDENT).call();
+
+      git.push()
+          .setRemote(bare.toUri().toString())
+          .setRefSpecs(new RefSpec("refs/heads/main:refs/heads/main"))
+          .call();
+
+      return commit.getName();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package gradestyle;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+// A local HTTP server standing in for the GitHub API, which records every request.
+public class TestServer implements AutoCloseable {
+  public record Request(String method, String path, Headers headers, String body) {}
+
+  public record Reply(int status, Map<String, String> headers, String body) {
+    public Reply(int status, String body) {
+      this(status, Map.of(), body);
+    }
+  }
+
+  private HttpServer server;
+
+  private Function<Request, Reply> handler;
+
+  private List<Request> requests = new CopyOnWriteArrayList<>();
+
+  public TestServer(Function<Request, Reply> handler) throws IOException {
+    this.handler = handler;
+    this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  public String getUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  public List<Request> getRequests() {
+    return requests;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String query = exchange.getRequestURI().getRawQuery();
+      String path = exchange.getRequestURI().getRawPath() + (query != null ? "?" + query : "");
+      String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+      Request request =
+          new Request(exchange.getRequestMethod(), path, exchange.getRequestHeaders(), body);
+      requests.add(request);
+
+      Reply reply = handler.apply(request);
+      byte[] bytes = reply.body().getBytes(StandardCharsets.UTF_8);
+
+      reply.headers().forEach(exchange.getResponseHeaders()::add);
+      exchange.sendResponseHeaders(reply.status(), bytes.length == 0 ? -1 : bytes.length);
+
+      if (bytes.length > 0) {
+        exchange.getResponseBody().write(bytes);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+}
@@ -0,0 +1,164 @@
+package gradestyle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gradestyle.config.Config;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WebhookTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String SECRET = "secret";
+
+  private static final String COMMIT = "0123456789abcdef0123456789abcdef01234567";
+
+  @TempDir Path dir;
+
+  private Webhook webhook;
+
+  @AfterEach
+  void stop() {
+    if (webhook != null) {
+      webhook.stop();
+    }
+  }
+
+  private Config config(String... extra) throws Exception {
+    List<String> settings =
+        new ArrayList<>(
+            List.of(
+                "repos=" + dir.resolve("repos"),
+                "package=com.example",
+                "template=assign-template",
+                "store=" + dir.resolve("results.bin"),
+                "github=true",
+                "github.classroom=example",
+                "github.assignment=assign-",
+                "github.retries=0",
+                "webhook.port=0",
+                "webhook.secret=" + SECRET));
+    settings.addAll(List.of(extra));
+
+    return TestConfig.create(dir, settings.toArray(String[]::new));
+  }
+
+  private static ObjectNode push(String name, String ref) {
+    ObjectNode payload = MAPPER.createObjectNode();
+    payload.put("ref", ref);
+    payload.put("after", COMMIT);
+    payload
+        .putObject("repository")
+        .put("name", name)
+        .put("default_branch", "main")
+        .put("clone_url", "https://attacker.example/" + name + ".git");
+
+    return payload;
+  }
+
+  private static String sign(String secret, byte[] body) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+    return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body));
+  }
+
+  private int send(String method, String event, String signature, JsonNode payload)
+      throws Exception {
+    if (webhook == null) {
+      // A remote that does not exist, so accepted pushes fail to fetch without any network.
+      webhook = new Webhook(config("github.remote=" + dir.resolve("remote")));
+      webhook.start();
+    }
+
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create("http://localhost:" + webhook.getPort() + "/"))
+            .method(method, BodyPublishers.ofString(payload.toString()));
+
+    if (event != null) {
+      request.header("X-GitHub-Event", event);
+    }
+
+    if (signature != null) {
+      request.header("X-Hub-Signature-256", signature);
+    }
+
+    return HttpClient.newHttpClient().send(request.build(), BodyHandlers.discarding()).statusCode();
+  }
+
+  private int send(String event, JsonNode payload) throws Exception {
+    String signature = sign(SECRET, payload.toString().getBytes(StandardCharsets.UTF_8));
+
+    return send("POST", event, signature, payload);
+  }
+
+  @Test
+  void onlyAcceptsPosts() throws Exception {
+    assertEquals(405, send("PUT", "push", null, push("assign-alice", "refs/heads/main")));
+  }
+
+  @Test
+  void rejectsMissingAndWrongSignatures() throws Exception {
+    ObjectNode payload = push("assign-alice", "refs/heads/main");
+    byte[] body = payload.toString().getBytes(StandardCharsets.UTF_8);
+
+    assertEquals(401, send("POST", "push", null, payload));
+    assertEquals(401, send("POST", "push", sign("wrong", body), payload));
+    assertEquals(401, send("POST", "push", "sha256=", payload));
+  }
+
+  @Test
+  void acceptsSignedPushesToTheDefaultBranch() throws Exception {
+    assertEquals(202, send("push", push("assign-alice", "refs/heads/main")));
+  }
+
+  @Test
+  void ignoresOtherEventsAndPushes() throws Exception {
+    assertEquals(204, send("ping", push("assign-alice", "refs/heads/main")));
+    assertEquals(204, send("push", push("assign-alice", "refs/heads/feature")));
+    assertEquals(204, send("push", push("other-alice", "refs/heads/main")));
+    assertEquals(204, send("push", push("assign-template", "refs/heads/main")));
+    assertEquals(204, send("push", push("assign-../../etc", "refs/heads/main")));
+
+    ObjectNode deleted = push("assign-alice", "refs/heads/main");
+    deleted.put("after", "0".repeat(40));
+
+    assertEquals(204, send("push", deleted));
+
+    ObjectNode option = push("assign-alice", "refs/heads/main");
+    option.put("after", "--upload-pack=touch");
+
+    assertEquals(204, send("push", option));
+  }
+
+  @Test
+  void clonesFromTheClassroomNotThePayload() throws Exception {
+    Webhook.Push push = new Webhook(config()).parsePush(push("assign-alice", "refs/heads/main"));
+
+    assertEquals("https://github.com/example/assign-alice.git", push.url());
+    assertEquals("main", push.branch());
+    assertEquals(COMMIT, push.commit());
+
+    ObjectNode branch = push("assign-alice", "refs/heads/..");
+    ((ObjectNode) branch.path("repository")).put("default_branch", "..");
+
+    assertNull(new Webhook(config()).parsePush(branch));
+  }
+}
@@ -0,0 +1,172 @@
+package gradestyle.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gradestyle.Repo;
+import gradestyle.TestConfig;
+import gradestyle.TestServer;
+import gradestyle.TestServer.Reply;
+import gradestyle.config.Config;
+import gradestyle.validator.Type;
+import gradestyle.validator.ValidationResult;
+import gradestyle.validator.ValidationResultCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FeedbackPublisherTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String CHECKS = "/repos/example/assign-alice/check-runs";
+
+  @TempDir Path dir;
+
+  private Config config(TestServer server) throws Exception {
+    return TestConfig.create(
+        dir,
+        "repos=" + dir.resolve("repos"),
+        "package=com.example",
+        "Formatting=true",
+        "Formatting.mode=ABSOLUTE",
+        "Formatting.scores=10,20",
+        "github=true",
+        "github.checks=true",
+        "github.token=token",
+        "github.api=" + server.getUrl(),
+        "github.retries=0",
+        "github.threads=1",
+        "github.state=" + dir.resolve("state.properties"),
+        "github.cache=" + dir.resolve("cache"));
+  }
+
+  // A result with a line length violation on each of the first lines, read like the store does.
+  private ValidationResult result(int violations) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    out.writeBoolean(false);
+    out.writeInt(violations);
+
+    for (int line = 1; line <= violations; line++) {
+      out.writeUTF(Type.Formatting_LineLength.name());
+      out.writeUTF("src/main/java/App.java");
+      out.writeInt(line);
+      out.writeInt(line);
+      out.writeInt(0);
+    }
+
+    out.writeInt(0);
+
+    Repo repo = new Repo(dir.resolve("repos/assign-alice"), "example", "assign-alice", "abc123");
+
+    return ValidationResultCodec.read(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), repo);
+  }
+
+  private static Function<TestServer.Request, Reply> checks() {
+    return request ->
+        switch (request.method() + " " + request.path()) {
+          case "POST " + CHECKS -> new Reply(201, "{\"id\":9}");
+          case "PATCH " + CHECKS + "/9" -> new Reply(200, "{\"id\":9}");
+          default -> new Reply(404, "");
+        };
+  }
+
+  private static void publish(Config config, TestServer server, ValidationResult result)
+      throws Exception {
+    GithubClient client = new GithubClient(server.getUrl(), "token", 0, null);
+
+    new FeedbackPublisher(config, client).publish(List.of(result));
+  }
+
+  @Test
+  void sendsAnnotationsInBatchesOfFifty() throws Exception {
+    try (TestServer server = new TestServer(checks())) {
+      publish(config(server), server, result(120));
+
+      List<String> methods = new ArrayList<>();
+      List<Integer> annotations = new ArrayList<>();
+      List<String> statuses = new ArrayList<>();
+
+      for (TestServer.Request request : server.getRequests()) {
+        JsonNode body = MAPPER.readTree(request.body());
+
+        methods.add(request.method() + " " + request.path());
+        annotations.add(body.path("output").path("annotations").size());
+        statuses.add(body.path("status").asText());
+      }
+
+      assertEquals(
+          List.of("POST " + CHECKS, "PATCH " + CHECKS + "/9", "PATCH " + CHECKS + "/9"), methods);
+      assertEquals(List.of(50, 50, 20), annotations);
+      assertEquals(List.of("in_progress", "in_progress", "completed"), statuses);
+
+      JsonNode first = MAPPER.readTree(server.getRequests().get(0).body());
+
+      assertEquals("abc123", first.path("head_sha").asText());
+      assertEquals(
+          "src/main/java/App.java",
+          first.path("output").path("annotations").get(0).path("path").asText());
+    }
+  }
+
+  @Test
+  void skipsUnchangedChecks() throws Exception {
+    try (TestServer server = new TestServer(checks())) {
+      Config config = config(server);
+
+      publish(config, server, result(3));
+      publish(config, server, result(3));
+
+      assertEquals(1, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void sendsAgainAfterAFailure() throws Exception {
+    try (TestServer server = new TestServer(request -> new Reply(502, ""))) {
+      Config config = config(server);
+
+      publish(config, server, result(3));
+
+      // A POST may have been processed, so it is not retried within the run.
+      assertEquals(1, server.getRequests().size());
+    }
+
+    try (TestServer server = new TestServer(checks())) {
+      publish(config(server), server, result(3));
+
+      assertEquals(1, server.getRequests().size());
+      TestServer.Request request = server.getRequests().get(0);
+
+      assertEquals("POST", request.method());
+      assertEquals("completed", MAPPER.readTree(request.body()).path("status").asText());
+    }
+  }
+
+  @Test
+  void requiresATitleForIssues() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            TestConfig.create(
+                dir,
+                "repos=" + dir.resolve("repos"),
+                "package=com.example",
+                "Formatting=true",
+                "Formatting.mode=ABSOLUTE",
+                "Formatting.scores=10,20",
+                "github=true",
+                "github.feedback=true"));
+  }
+}
@@ -0,0 +1,134 @@
+package gradestyle.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gradestyle.TestServer;
+import gradestyle.TestServer.Reply;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GithubClientTest {
+  @TempDir Path cache;
+
+  // Replies in turn, repeating the last one.
+  private static Function<TestServer.Request, Reply> replies(Reply... replies) {
+    AtomicInteger next = new AtomicInteger();
+    return request -> replies[Math.min(next.getAndIncrement(), replies.length - 1)];
+  }
+
+  private GithubClient client(TestServer server) {
+    return new GithubClient(server.getUrl(), "token", 3, cache);
+  }
+
+  @Test
+  void retriesAfterTheRetryAfterSeconds() throws Exception {
+    try (TestServer server =
+        new TestServer(
+            replies(new Reply(429, Map.of("Retry-After", "0"), ""), new Reply(200, "{\"a\":1}")))) {
+      assertEquals(1, client(server).get("/a").body().path("a").asInt());
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void acceptsARetryAfterDate() throws Exception {
+    Map<String, String> headers = Map.of("Retry-After", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+    try (TestServer server =
+        new TestServer(replies(new Reply(503, headers, ""), new Reply(200, "{\"a\":1}")))) {
+      assertEquals(1, client(server).get("/a").body().path("a").asInt());
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void backsOffOnMalformedRateLimitHeaders() throws Exception {
+    Map<String, String> headers =
+        Map.of("Retry-After", "later", "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", "soon");
+
+    try (TestServer server =
+        new TestServer(replies(new Reply(403, headers, ""), new Reply(200, "{\"a\":1}")))) {
+      assertEquals(1, client(server).get("/a").body().path("a").asInt());
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void waitsForTheRateLimitReset() throws Exception {
+    long reset = System.currentTimeMillis() / 1000 + 1;
+    Map<String, String> headers =
+        Map.of("X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset));
+
+    try (TestServer server =
+        new TestServer(replies(new Reply(403, headers, ""), new Reply(200, "{\"a\":1}")))) {
+      assertEquals(1, client(server).get("/a").body().path("a").asInt());
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void doesNotRetryAPostThatMayHaveBeenProcessed() throws Exception {
+    try (TestServer server = new TestServer(replies(new Reply(502, "")))) {
+      GithubException e =
+          assertThrows(
+              GithubException.class, () -> client(server).send("POST", "/issues", Map.of()));
+
+      assertEquals(502, e.getStatus());
+      assertEquals(1, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void retriesARateLimitedPost() throws Exception {
+    try (TestServer server =
+        new TestServer(
+            replies(
+                new Reply(429, Map.of("Retry-After", "0"), ""),
+                new Reply(201, "{\"number\":7}")))) {
+      GithubClient.Response response = client(server).send("POST", "/issues", Map.of());
+
+      assertEquals(7, response.body().path("number").asInt());
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void retriesAPatchOnServerErrors() throws Exception {
+    try (TestServer server =
+        new TestServer(replies(new Reply(502, ""), new Reply(200, "{\"number\":7}")))) {
+      client(server).send("PATCH", "/issues/7", Map.of());
+
+      assertEquals(2, server.getRequests().size());
+    }
+  }
+
+  @Test
+  void answersUnchangedResponsesFromTheCache() throws Exception {
+    Function<TestServer.Request, Reply> handler =
+        request -> {
+          if ("\"v1\"".equals(request.headers().getFirst("If-None-Match"))) {
+            return new Reply(304, "");
+          }
+
+          return new Reply(200, Map.of("ETag", "\"v1\""), "{\"a\":1}");
+        };
+
+    try (TestServer server = new TestServer(handler)) {
+      GithubClient client = client(server);
+
+      client.get("/a");
+      assertEquals(1, client.get("/a").body().path("a").asInt());
+
+      assertEquals(1, client.getCacheHits());
+      assertEquals(
+          List.of("GET", "GET"),
+          server.getRequests().stream().map(TestServer.Request::method).toList());
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package gradestyle.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import gradestyle.Repo;
+import gradestyle.TestRepos;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointTest {
+  @TempDir Path dir;
+
+  private Repo repo(String name, String commit) throws Exception {
+    return TestRepos.create(dir.resolve(name), commit, Map.of("App.java", "class App {}"));
+  }
+
+  private static ValidationResult result(Repo repo, int line) {
+    Path file = repo.getDir().resolve("src/main/java/App.java");
+    Violation violation = new Violation(Type.Formatting_LineLength, file, line, line);
+
+    return new ValidationResult(repo, new Violations(List.of(violation)), null);
+  }
+
+  private static int getLine(ValidationResult result) {
+    return result.getViolations().getViolations().get(0).getLine();
+  }
+
+  private Checkpoint record(Path file, ValidationResult... results) throws Exception {
+    Checkpoint checkpoint = new Checkpoint(file, "fingerprint");
+
+    for (ValidationResult result : results) {
+      checkpoint.record(result);
+    }
+
+    return checkpoint;
+  }
+
+  @Test
+  void restoresRecordedResultsOfTheSameCommit() throws Exception {
+    Path file = dir.resolve("checkpoint");
+    record(file, result(repo("a", "c1"), 3)).close();
+
+    Checkpoint checkpoint = new Checkpoint(file, "fingerprint");
+    ValidationResult restored = checkpoint.restore(repo("a", "c1"));
+
+    assertEquals(3, getLine(restored));
+    assertNull(checkpoint.restore(repo("a", "c2")), "Pushed to since");
+    assertNull(checkpoint.restore(repo("b", "c1")));
+    checkpoint.close();
+
+    checkpoint = new Checkpoint(file, "other settings");
+    assertNull(checkpoint.restore(repo("a", "c1")));
+    checkpoint.close();
+  }
+
+  @Test
+  void truncatesARecordCutShortAndResumes() throws Exception {
+    Path file = dir.resolve("checkpoint");
+    record(file, result(repo("a", "c1"), 3)).close();
+
+    long complete = Files.size(file);
+
+    // A crash while writing b's record, its length is written but only some of its bytes.
+    Files.write(file, new byte[] {0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+    Checkpoint checkpoint = new Checkpoint(file, "fingerprint");
+
+    assertEquals(complete, Files.size(file));
+    assertNotNull(checkpoint.restore(repo("a", "c1")));
+
+    checkpoint.record(result(repo("b", "c1"), 5));
+    checkpoint.close();
+
+    checkpoint = new Checkpoint(file, "fingerprint");
+
+    assertEquals(3, getLine(checkpoint.restore(repo("a", "c1"))));
+    assertEquals(5, getLine(checkpoint.restore(repo("b", "c1"))));
+    checkpoint.close();
+  }
+
+  @Test
+  void startsAgainFromAnUnsupportedFile() throws Exception {
+    Path file = dir.resolve("checkpoint");
+    Files.writeString(file, "not a checkpoint");
+
+    Checkpoint checkpoint = record(file, result(repo("a", "c1"), 3));
+    checkpoint.close();
+
+    checkpoint = new Checkpoint(file, "fingerprint");
+    assertNotNull(checkpoint.restore(repo("a", "c1")));
+    checkpoint.close();
+  }
+
+  @Test
+  void skipsReposWithoutACommit() throws Exception {
+    Path file = dir.resolve("checkpoint");
+    record(file, result(repo("a", null), 3)).close();
+
+    Checkpoint checkpoint = new Checkpoint(file, "fingerprint");
+    assertNull(checkpoint.restore(repo("a", "c1")));
+    checkpoint.close();
+  }
+
+  @Test
+  void skipsResultsMissingSkippedFiles() throws Exception {
+    Path file = dir.resolve("checkpoint");
+    Repo repo = repo("a", "c1");
+    ValidationResult result = result(repo, 3);
+    result.getSkips().add(new Skip("JavaParser", null, "exceeded the 1s validator budget"));
+    record(file, result).close();
+
+    Checkpoint checkpoint = new Checkpoint(file, "fingerprint");
+    assertNull(checkpoint.restore(repo));
+    checkpoint.close();
+  }
+}
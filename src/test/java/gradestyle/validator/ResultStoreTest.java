@@ -0,0 +1,126 @@
+package gradestyle.validator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gradestyle.Repo;
+import gradestyle.TestRepos;
+import gradestyle.config.CategoryConfig;
+import gradestyle.config.CategoryConfig.Mode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultStoreTest {
+  private static final List<CategoryConfig> CONFIGS =
+      List.of(new CategoryConfig(Category.Formatting, 3, Mode.RELATIVE, List.of(10, 20)));
+
+  @TempDir Path dir;
+
+  private ValidationResult result(String name) throws Exception {
+    Repo repo = TestRepos.create(dir.resolve(name), "c1", Map.of("App.java", "class App {}"));
+    Path file = repo.getDir().resolve("src/main/java/App.java");
+    Violation violation = new Violation(Type.Formatting_LineLength, file, 2, 4, "120");
+
+    ValidationResult result = new ValidationResult(repo, new Violations(List.of(violation)), null);
+
+    // Already counted, so storing it does not parse the repo.
+    result.getNormalisations().put(Category.Formatting, 42L);
+
+    return result;
+  }
+
+  @Test
+  void roundTripsResults() throws Exception {
+    Path file = dir.resolve("store");
+    ResultStore store = new ResultStore(file, CONFIGS);
+
+    store.write(result("a"));
+    store.close();
+
+    ResultStore.Contents contents = ResultStore.read(file);
+
+    assertEquals(List.of(Category.Formatting), contents.categories());
+    assertEquals(1, contents.results().size());
+
+    ValidationResult result = contents.results().get(0);
+    Repo repo = result.getRepo();
+    Violation violation = result.getViolations().getViolations().get(0);
+
+    assertEquals("a", repo.getName());
+    assertEquals("c1", repo.getCommit());
+    assertNull(repo.getOrg());
+    assertNull(result.getError());
+    assertEquals(repo.getDir().resolve("src/main/java/App.java"), violation.getPath());
+    assertEquals(Type.Formatting_LineLength, violation.getType());
+    assertEquals(2, violation.getLine());
+    assertEquals(4, violation.getEndLine());
+    assertArrayEquals(new String[] {"120"}, violation.getMessageArgs());
+    assertEquals(Map.of(Category.Formatting, 42L), result.getNormalisations());
+  }
+
+  @Test
+  void roundTripsErrors() throws Exception {
+    Repo repo = TestRepos.create(dir.resolve("a"), null, Map.of("App.java", "class App {"));
+    Path error = repo.getDir().resolve("src/main/java/App.java");
+    ValidationResult result = new ValidationResult(repo, new Violations(), error);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ValidationResultCodec.write(new DataOutputStream(bytes), result);
+
+    ValidationResult read =
+        ValidationResultCodec.read(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), repo);
+
+    assertEquals(error, read.getError());
+    assertEquals(List.of(), read.getViolations().getViolations());
+  }
+
+  @Test
+  void rejectsUnknownTypes() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    out.writeBoolean(false);
+    out.writeInt(1);
+    out.writeUTF("Renamed_Type");
+
+    Repo repo = TestRepos.create(dir.resolve("a"), null, Map.of());
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertThrows(IOException.class, () -> ValidationResultCodec.read(in, repo));
+  }
+
+  @Test
+  void rejectsOtherVersions() throws Exception {
+    assertThrows(IOException.class, () -> ResultStore.read(header("gradestyle-store", 2, 1)));
+    assertThrows(IOException.class, () -> ResultStore.read(header("gradestyle-store", 1, 2)));
+    assertThrows(IOException.class, () -> ResultStore.read(header("something-else", 1, 1)));
+  }
+
+  private Path header(String magic, int version, int codec) throws IOException {
+    Path file = Files.createTempFile(dir, "store", ".gz");
+
+    try (DataOutputStream out =
+        new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+      out.writeUTF(magic);
+      out.writeInt(version);
+      out.writeInt(codec);
+      out.writeInt(0);
+      out.writeBoolean(false);
+    }
+
+    return file;
+  }
+}
@@ -0,0 +1,67 @@
+package gradestyle.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import gradestyle.Repo;
+import gradestyle.TestConfig;
+import gradestyle.TestRepos;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ValidationTest {
+  // Reports a violation, unless it is stopped first.
+  private static class SlowValidator implements Validator {
+    @Override
+    public Violations validate(Repo repo) {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        return new Violations();
+      }
+
+      return violation(repo, Type.Formatting_LineLength);
+    }
+  }
+
+  private static class FastValidator implements Validator {
+    @Override
+    public Violations validate(Repo repo) {
+      return violation(repo, Type.ClassNames_Regex);
+    }
+  }
+
+  @TempDir Path dir;
+
+  private static Violations violation(Repo repo, Type type) {
+    Path file = repo.getDir().resolve("src/main/java/App.java");
+
+    return new Violations(List.of(new Violation(type, file, 1)));
+  }
+
+  @Test
+  void recordsValidatorsOverTheirBudget() throws Exception {
+    Validation validation =
+        new Validation(
+            new Validator[] {new SlowValidator(), new FastValidator()},
+            TestConfig.create(
+                dir, "repos=" + dir.resolve("repos"), "package=com.example", "budget.validator=1"));
+
+    Repo repo = TestRepos.create(dir.resolve("a"), "c1", Map.of("App.java", "class App {}"));
+    ValidationResult result = validation.validate(repo);
+
+    assertNull(result.getError());
+    assertEquals(
+        List.of(new Skip("SlowValidator", null, "exceeded the 1s validator budget")),
+        result.getSkips());
+
+    // The validators after it still run.
+    List<Violation> violations = result.getViolations().getViolations();
+
+    assertEquals(1, violations.size());
+    assertEquals(Type.ClassNames_Regex, violations.get(0).getType());
+  }
+}
@@ -0,0 +1,214 @@
+package gradestyle.validator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gradestyle.Repo;
+import gradestyle.TestRepos;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ViolationCacheTest {
+  // A line length violation on the first line of each file, unless it is skipped, and a repo
+  // check on the repo.
+  private static class LineValidator implements FileValidator {
+    private String fingerprint = "1";
+
+    private Path skipped;
+
+    private List<List<Path>> calls = new ArrayList<>();
+
+    @Override
+    public Violations validate(Repo repo) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getFingerprint() {
+      return fingerprint;
+    }
+
+    @Override
+    public Violations validateFiles(Repo repo, List<Path> files) {
+      calls.add(files);
+
+      Violations violations = new Violations();
+
+      for (Path file : files) {
+        if (file.equals(skipped)) {
+          violations.getSkips().add(new Skip("LineValidator", file, "exceeded the 1s file budget"));
+          continue;
+        }
+
+        violations
+            .getViolations()
+            .add(new Violation(Type.Formatting_LineLength, file, 1, 1, "tab\there", "line\n"));
+      }
+
+      Path main = repo.getDir().resolve("src/main/java/App.java");
+      violations.getViolations().add(new Violation(Type.UnqualifiedStaticAccess_Method, main, 2));
+
+      return violations;
+    }
+
+    @Override
+    public boolean isRepoCheck(Type type) {
+      return type == Type.UnqualifiedStaticAccess_Method;
+    }
+
+    private List<Path> getLastCall() {
+      return calls.get(calls.size() - 1);
+    }
+  }
+
+  @TempDir Path dir;
+
+  private Repo repo(String name) throws Exception {
+    return TestRepos.create(
+        dir.resolve(name), null, Map.of("App.java", "class App {}", "Util.java", "class Util {}"));
+  }
+
+  private static List<Violation> ofType(ViolationCache.Outcome outcome, Type type) {
+    return outcome.violations().filterByType(type).getViolations();
+  }
+
+  @Test
+  void analysesOnlyChangedFiles() throws Exception {
+    ViolationCache cache = new ViolationCache(null);
+    LineValidator validator = new LineValidator();
+
+    cache.validate(repo("a"), validator);
+    Files.writeString(dir.resolve("a/src/main/java/Util.java"), "class Util { int x; }");
+    ViolationCache.Outcome outcome = cache.validate(repo("a"), validator);
+
+    assertEquals(List.of(dir.resolve("a/src/main/java/Util.java")), validator.getLastCall());
+    assertEquals(2, outcome.files());
+    assertEquals(1, outcome.analysed());
+    assertEquals(2, ofType(outcome, Type.Formatting_LineLength).size());
+  }
+
+  @Test
+  void retargetsIdenticalFilesOfAnotherRepo() throws Exception {
+    ViolationCache cache = new ViolationCache(null);
+    LineValidator validator = new LineValidator();
+
+    cache.validate(repo("a"), validator);
+    ViolationCache.Outcome outcome = cache.validate(repo("b"), validator);
+
+    assertEquals(List.of(), validator.getLastCall());
+
+    List<Violation> violations = ofType(outcome, Type.Formatting_LineLength);
+
+    assertEquals(2, violations.size());
+
+    for (Violation violation : violations) {
+      assertTrue(violation.getPath().startsWith(dir.resolve("b")), violation.getPath().toString());
+    }
+  }
+
+  @Test
+  void neverCachesRepoChecks() throws Exception {
+    ViolationCache cache = new ViolationCache(null);
+    LineValidator validator = new LineValidator();
+
+    cache.validate(repo("a"), validator);
+    ViolationCache.Outcome outcome = cache.validate(repo("b"), validator);
+
+    List<Violation> repoChecks = ofType(outcome, Type.UnqualifiedStaticAccess_Method);
+
+    // From the fresh pass over b, not retargeted from a.
+    assertEquals(List.of(dir.resolve("b/src/main/java/App.java")), paths(repoChecks));
+  }
+
+  @Test
+  void readsEntriesWrittenByAnotherRun() throws Exception {
+    Path cacheDir = dir.resolve("cache");
+    LineValidator validator = new LineValidator();
+
+    new ViolationCache(cacheDir).validate(repo("a"), validator);
+    ViolationCache.Outcome outcome = new ViolationCache(cacheDir).validate(repo("a"), validator);
+
+    assertEquals(List.of(), validator.getLastCall());
+
+    Violation violation = ofType(outcome, Type.Formatting_LineLength).get(0);
+
+    assertEquals(1, violation.getLine());
+    assertEquals(1, violation.getEndLine());
+    assertArrayEquals(new String[] {"tab\there", "line\n"}, violation.getMessageArgs());
+  }
+
+  @Test
+  void analysesCorruptEntriesAgain() throws Exception {
+    Path cacheDir = dir.resolve("cache");
+    LineValidator validator = new LineValidator();
+
+    new ViolationCache(cacheDir).validate(repo("a"), validator);
+
+    List<Path> entries;
+
+    try (Stream<Path> files = Files.walk(cacheDir)) {
+      entries = files.filter(Files::isRegularFile).toList();
+    }
+
+    assertEquals(2, entries.size());
+
+    Files.writeString(entries.get(0), "Formatting_LineLength\tnot a number\n");
+    Files.writeString(entries.get(1), "Renamed_Type\t1\t1\n");
+
+    ViolationCache.Outcome outcome = new ViolationCache(cacheDir).validate(repo("a"), validator);
+
+    assertEquals(2, validator.getLastCall().size());
+    assertEquals(2, ofType(outcome, Type.Formatting_LineLength).size());
+
+    // Written again with the fresh results.
+    outcome = new ViolationCache(cacheDir).validate(repo("a"), validator);
+
+    assertEquals(0, outcome.analysed());
+  }
+
+  @Test
+  void changingTheFingerprintInvalidatesEntries() throws Exception {
+    Path cacheDir = dir.resolve("cache");
+    LineValidator validator = new LineValidator();
+
+    new ViolationCache(cacheDir).validate(repo("a"), validator);
+    validator.fingerprint = "2";
+    ViolationCache.Outcome outcome = new ViolationCache(cacheDir).validate(repo("a"), validator);
+
+    assertEquals(2, outcome.analysed());
+  }
+
+  @Test
+  void analysesSkippedFilesAgain() throws Exception {
+    ViolationCache cache = new ViolationCache(null);
+    LineValidator validator = new LineValidator();
+    validator.skipped = dir.resolve("a/src/main/java/Util.java");
+
+    ViolationCache.Outcome outcome = cache.validate(repo("a"), validator);
+
+    assertEquals(List.of(validator.skipped), files(outcome.violations().getSkips()));
+    assertEquals(1, ofType(outcome, Type.Formatting_LineLength).size());
+
+    validator.skipped = null;
+    outcome = cache.validate(repo("a"), validator);
+
+    assertEquals(List.of(dir.resolve("a/src/main/java/Util.java")), validator.getLastCall());
+    assertEquals(List.of(), outcome.violations().getSkips());
+    assertEquals(2, ofType(outcome, Type.Formatting_LineLength).size());
+  }
+
+  private static List<Path> paths(List<Violation> violations) {
+    return violations.stream().map(Violation::getPath).toList();
+  }
+
+  private static List<Path> files(List<Skip> skips) {
+    return skips.stream().map(Skip::file).toList();
+  }
+}
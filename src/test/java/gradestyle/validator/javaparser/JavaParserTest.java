@@ -0,0 +1,184 @@
+package gradestyle.validator.javaparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gradestyle.Repo;
+import gradestyle.TestConfig;
+import gradestyle.TestRepos;
+import gradestyle.config.OrderConfig.OrderElement;
+import gradestyle.validator.Category;
+import gradestyle.validator.Type;
+import gradestyle.validator.Violation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JavaParserTest {
+  private static final List<OrderElement> ORDERING =
+      List.of(
+          OrderElement.InnerClasses,
+          OrderElement.StaticFields,
+          OrderElement.StaticMethods,
+          OrderElement.InstanceFields,
+          OrderElement.Constructors,
+          OrderElement.InstanceMethods);
+
+  @TempDir Path dir;
+
+  private int repos;
+
+  private List<Violation> ordering(List<OrderElement> ordering, String source) throws Exception {
+    Path repoDir = dir.resolve("repo" + repos++);
+    Repo repo = TestRepos.create(repoDir, null, Map.of("App.java", source));
+
+    JavaParser validator = new JavaParser();
+    validator.setup(
+        TestConfig.create(
+            repoDir,
+            "repos=" + dir,
+            "package=com.example",
+            "Ordering=true",
+            "Ordering.mode=ABSOLUTE",
+            "Ordering.scores=10,20",
+            "Ordering.order=" + String.join(",", ordering.stream().map(Enum::name).toList())));
+
+    return validator.validate(repo).filterByCategory(Category.Ordering).getViolations();
+  }
+
+  @Test
+  void acceptsMembersInOrder() throws Exception {
+    String source =
+        """
+        class App {
+          class Inner {}
+          static int count;
+          static void reset() {}
+          int size;
+          App() {}
+          void add() {}
+        }
+        """;
+
+    assertEquals(List.of(), ordering(ORDERING, source));
+  }
+
+  @Test
+  void reportsAMisplacedMemberOnce() throws Exception {
+    String source =
+        """
+        class App {
+          void add() {}
+          static int count;
+          int size;
+          App() {}
+        }
+        """;
+
+    List<Violation> violations = ordering(ORDERING, source);
+
+    // The old checker reported add once for each of count, size and App.
+    assertEquals(1, violations.size());
+    assertEquals(Type.Ordering_InstanceMethods, violations.get(0).getType());
+    assertEquals(2, violations.get(0).getLine());
+    assertEquals(
+        "Instance method 'add' is out of order. It should appear after 'App'.",
+        violations.get(0).getMessage());
+  }
+
+  @Test
+  void followsTheConfiguredOrdering() throws Exception {
+    String source =
+        """
+        class App {
+          static int count;
+          void add() {}
+        }
+        """;
+
+    List<Violation> violations =
+        ordering(List.of(OrderElement.InstanceMethods, OrderElement.StaticFields), source);
+
+    assertEquals(1, violations.size());
+    assertEquals(
+        "Static field 'count' is out of order. It should appear after 'add'.",
+        violations.get(0).getMessage());
+  }
+
+  // Compares random classes with the old pairwise checker, which reported each misplaced member
+  // once for every earlier ranked member following it. Now only the last of those is reported.
+  @Test
+  void matchesThePairwiseChecker() throws Exception {
+    Random random = new Random(42);
+
+    for (int n = 0; n < 20; n++) {
+      List<OrderElement> members = new ArrayList<>();
+
+      for (int i = 0; i < 12; i++) {
+        members.add(ORDERING.get(random.nextInt(ORDERING.size())));
+      }
+
+      Set<String> expected = new HashSet<>();
+
+      for (int i = 0; i < members.size(); i++) {
+        String reference = null;
+
+        for (int j = i + 1; j < members.size(); j++) {
+          if (ORDERING.indexOf(members.get(j)) < ORDERING.indexOf(members.get(i))) {
+            reference = getName(members.get(j), j);
+          }
+        }
+
+        if (reference != null) {
+          Type type = Type.valueOf("Ordering_" + members.get(i).name());
+          expected.add(type + ":" + (i + 2) + ":" + getName(members.get(i), i) + ":" + reference);
+        }
+      }
+
+      List<Violation> violations = ordering(ORDERING, getSource(members));
+      Set<String> actual = new HashSet<>();
+
+      for (Violation violation : violations) {
+        String[] args = violation.getMessageArgs();
+        actual.add(violation.getType() + ":" + violation.getLine() + ":" + args[0] + ":" + args[1]);
+      }
+
+      assertEquals(expected.size(), violations.size(), members.toString());
+      assertEquals(expected, actual, members.toString());
+    }
+  }
+
+  // One member per line, starting on line 2.
+  private static String getSource(List<OrderElement> members) {
+    StringBuilder sb = new StringBuilder("class App {\n");
+
+    for (int i = 0; i < members.size(); i++) {
+      String name = getName(members.get(i), i);
+
+      switch (members.get(i)) {
+        case InnerClasses -> sb.append("class ").append(name).append(" {}\n");
+        case StaticFields -> sb.append("static int ").append(name).append(";\n");
+        case StaticMethods -> sb.append("static void ").append(name).append("() {}\n");
+        case InstanceFields -> sb.append("int ").append(name).append(";\n");
+        case Constructors -> sb.append("App(int a").append(i).append(") {}\n");
+        case InstanceMethods -> sb.append("void ").append(name).append("() {}\n");
+      }
+    }
+
+    return sb.append("}\n").toString();
+  }
+
+  private static String getName(OrderElement member, int i) {
+    return switch (member) {
+      case InnerClasses -> "C" + i;
+      case StaticFields, InstanceFields -> "f" + i;
+      case StaticMethods, InstanceMethods -> "m" + i;
+      case Constructors -> "App";
+    };
+  }
+}